@@ -0,0 +1,49 @@
+package benchmarks;
+
+/**
+ * Representative positions shared by the benchmarks, looked up by name so
+ * they can be used as JMH {@code @Param} values.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class BenchmarkPositions {
+    /** Names accepted by {@link #fen(String)}. */
+    public static final String[] NAMES = {"start", "kiwipete", "italian", "rookEndgame", "queenEndgame", "mated"};
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private BenchmarkPositions() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Gets the FEN of a named position.
+     * 
+     * @param name the position name (one of {@link #NAMES})
+     * @return the position in FEN
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static String fen(String name) {
+        switch (name) {
+            case "start":
+                return "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+            case "kiwipete":
+                // Tactical middlegame with castling, pins and en passant chances
+                return "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+            case "italian":
+                // Quiet middlegame after both sides castled
+                return "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+            case "rookEndgame":
+                return "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+            case "queenEndgame":
+                return "8/6pk/8/3Q4/8/7P/5qPK/8 w - - 0 1";
+            case "mated":
+                // Black has just been mated, so the checkmate test runs to the end
+                return "r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4";
+            default:
+                throw new IllegalArgumentException("Unknown benchmark position: " + name);
+        }
+    }
+}
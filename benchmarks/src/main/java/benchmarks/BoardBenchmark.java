@@ -0,0 +1,117 @@
+package benchmarks;
+
+import board.Board;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * Benchmarks for the position-level queries on {@link Board}.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"start", "kiwipete", "italian", "rookEndgame", "queenEndgame", "mated"})
+    public String position;
+
+    private Board board;
+    private boolean sideToMove;
+    private final MoveList moves = new MoveList();
+
+    /**
+     * Loads the benchmark position.
+     */
+    @Setup
+    public void setUp() {
+        board = Board.fromFen(BenchmarkPositions.fen(position));
+        sideToMove = board.isWhiteToMove();
+    }
+
+    /**
+     * Measures check detection for the side to move.
+     * 
+     * @return whether the side to move is in check
+     */
+    @Benchmark
+    public boolean isCheck() {
+        return board.isCheck(sideToMove);
+    }
+
+    /**
+     * Measures checkmate detection for the side to move.
+     * 
+     * @return whether the side to move is mated
+     */
+    @Benchmark
+    public boolean isCheckmate() {
+        return board.isCheckmate(sideToMove);
+    }
+
+    /**
+     * Measures copying the whole board. Only primitive state is copied.
+     * 
+     * @return the copy
+     */
+    @Benchmark
+    public Board copy() {
+        return board.copy();
+    }
+
+    /**
+     * Measures copying the board and then building its array of pieces,
+     * which costs as much as a copy that duplicates every piece object.
+     * Compare with {@link #copy()} for the saving of the primitive copy.
+     * 
+     * @return the piece array of the copy
+     */
+    @Benchmark
+    public Piece[][] copyWithPieces() {
+        return board.copy().getSquares();
+    }
+
+    /**
+     * Measures generating every legal move of the side to move.
+     * 
+     * @return the number of legal moves
+     */
+    @Benchmark
+    public int generateLegalMoves() {
+        moves.clear();
+        board.generateLegalMoves(sideToMove, moves);
+        return moves.size();
+    }
+
+    /**
+     * Measures making and taking back every legal move of the side to move.
+     * 
+     * @return the hash after all moves were taken back
+     */
+    @Benchmark
+    public long makeUnmakeAll() {
+        moves.clear();
+        board.generateLegalMoves(sideToMove, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            board.unmakeMove();
+        }
+        return board.getHash();
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import board.Board;
+import engine.Evaluator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pieces.MoveList;
+
+/**
+ * Benchmarks for the static evaluation: the incrementally kept score
+ * against a from-scratch sum over the pieces.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+    @Param({"start", "kiwipete", "italian", "rookEndgame", "queenEndgame"})
+    public String position;
+
+    private final Evaluator evaluator = new Evaluator();
+    private final MoveList moves = new MoveList();
+    private Board board;
+    private int move;
+
+    /**
+     * Loads the benchmark position and checks that both evaluations agree
+     * on it and on every position one move away.
+     * 
+     * @throws IllegalStateException if the evaluations differ
+     */
+    @Setup
+    public void setUp() {
+        board = Board.fromFen(BenchmarkPositions.fen(position));
+        moves.clear();
+        board.generateLegalMoves(board.isWhiteToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            if (evaluator.evaluate(board) != evaluator.evaluateFromScratch(board)) {
+                throw new IllegalStateException("Incremental evaluation differs after " + moves.get(i));
+            }
+            board.unmakeMove();
+        }
+        if (evaluator.evaluate(board) != evaluator.evaluateFromScratch(board)) {
+            throw new IllegalStateException("Incremental evaluation differs in " + position);
+        }
+        move = moves.get(0);
+    }
+
+    /**
+     * Measures evaluation from the board's incremental score.
+     * 
+     * @return the score
+     */
+    @Benchmark
+    public int incremental() {
+        return evaluator.evaluate(board);
+    }
+
+    /**
+     * Measures evaluation by summing every piece's value.
+     * 
+     * @return the score
+     */
+    @Benchmark
+    public int fromScratch() {
+        return evaluator.evaluateFromScratch(board);
+    }
+
+    /**
+     * Measures making and taking back a move, which now also updates the
+     * score, followed by an incremental evaluation.
+     * 
+     * @return the score after the move
+     */
+    @Benchmark
+    public int makeEvaluateUnmake() {
+        board.makeMove(move);
+        int score = evaluator.evaluate(board);
+        board.unmakeMove();
+        return score;
+    }
+}
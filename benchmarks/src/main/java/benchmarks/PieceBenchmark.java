@@ -0,0 +1,121 @@
+package benchmarks;
+
+import board.Board;
+import board.Position;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * Benchmarks for per-piece move generation, run over every piece of one type
+ * in a position.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceBenchmark {
+    @Param({"kiwipete", "italian", "rookEndgame", "queenEndgame"})
+    public String position;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public String pieceType;
+
+    private Board board;
+    private Piece[][] squares;
+    private Piece[] pieces;
+    private Position[] targets;
+    private final MoveList moves = new MoveList();
+
+    /**
+     * Loads the position and collects the pieces of the benchmarked type,
+     * together with one destination per piece for the validity check.
+     */
+    @Setup
+    public void setUp() {
+        board = Board.fromFen(BenchmarkPositions.fen(position));
+        squares = board.getSquares();
+        int type = typeIndex(pieceType);
+        
+        List<Piece> found = new ArrayList<>();
+        List<Position> destinations = new ArrayList<>();
+        for (Piece[] row : squares) {
+            for (Piece piece : row) {
+                if (piece != null && piece.getType() == type) {
+                    List<Position> possible = piece.possibleMoves(squares);
+                    found.add(piece);
+                    destinations.add(possible.isEmpty() ? piece.getPosition() : possible.get(possible.size() - 1));
+                }
+            }
+        }
+        pieces = found.toArray(new Piece[0]);
+        targets = destinations.toArray(new Position[0]);
+    }
+
+    /**
+     * Converts a piece type name to its index.
+     * 
+     * @param name the type name, such as "KNIGHT"
+     * @return the piece type index
+     */
+    private static int typeIndex(String name) {
+        return List.of("PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING").indexOf(name);
+    }
+
+    /**
+     * Measures the list-returning move generator.
+     * 
+     * @param blackhole consumes the generated lists
+     */
+    @Benchmark
+    public void possibleMoves(Blackhole blackhole) {
+        for (Piece piece : pieces) {
+            blackhole.consume(piece.possibleMoves(squares));
+        }
+    }
+
+    /**
+     * Measures the allocation-free move generator fed from the board's bitboards.
+     * 
+     * @return the number of generated moves
+     */
+    @Benchmark
+    public int generateMoves() {
+        moves.clear();
+        for (Piece piece : pieces) {
+            piece.generateMoves(board.getOccupancy(piece.isWhite()), board.getOccupancy(), moves);
+        }
+        return moves.size();
+    }
+
+    /**
+     * Measures the single-move validity check.
+     * 
+     * @param blackhole consumes the results
+     */
+    @Benchmark
+    public void isValidMove(Blackhole blackhole) {
+        for (int i = 0; i < pieces.length; i++) {
+            blackhole.consume(pieces[i].isValidMove(targets[i], squares));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package benchmarks;
+
+import board.Position;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.Utils;
+
+/**
+ * Benchmarks for {@link Position} handling and move string parsing.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionBenchmark {
+    private static final String[] SQUARES = {"A1", "E4", "H8", "D5", "B7", "G2", "C3", "F6"};
+    private static final String[] MOVES = {"E2 E4", "g1 f3", "D7  D5", "e1 g1", "B8 C6", "H7 H8"};
+
+    private final Position[] left = new Position[64];
+    private final Position[] right = new Position[64];
+
+    /**
+     * Constructor for PositionBenchmark class.
+     * Fills two arrays with equal but separately obtained positions.
+     */
+    public PositionBenchmark() {
+        for (int square = 0; square < 64; square++) {
+            left[square] = Position.of(square / 8, square % 8);
+            right[square] = Position.of(square / 8, square % 8);
+        }
+    }
+
+    /**
+     * Measures obtaining a position for every square from coordinates.
+     * 
+     * @param blackhole consumes the positions
+     */
+    @Benchmark
+    public void constructFromCoordinates(Blackhole blackhole) {
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                blackhole.consume(Position.of(row, col));
+            }
+        }
+    }
+
+    /**
+     * Measures parsing positions from algebraic notation.
+     * 
+     * @param blackhole consumes the positions
+     */
+    @Benchmark
+    public void constructFromNotation(Blackhole blackhole) {
+        for (String square : SQUARES) {
+            blackhole.consume(Position.of(square));
+        }
+    }
+
+    /**
+     * Measures position equality and hashing.
+     * 
+     * @return a count of equal pairs mixed with the hash codes
+     */
+    @Benchmark
+    public int equalsAndHashCode() {
+        int result = 0;
+        for (int i = 0; i < 64; i++) {
+            if (left[i].equals(right[i])) {
+                result++;
+            }
+            result += right[i].hashCode();
+        }
+        return result;
+    }
+
+    /**
+     * Measures parsing "FROM TO" move strings.
+     * 
+     * @param blackhole consumes the parsed moves
+     */
+    @Benchmark
+    public void parseMove(Blackhole blackhole) {
+        for (String move : MOVES) {
+            blackhole.consume(Utils.parseMove(move));
+        }
+    }
+}
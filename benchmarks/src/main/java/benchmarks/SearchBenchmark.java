@@ -0,0 +1,57 @@
+package benchmarks;
+
+import board.Board;
+import engine.Search;
+import engine.SearchResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the time the alpha-beta search takes to reach a fixed depth.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"start", "kiwipete", "italian", "rookEndgame", "queenEndgame"})
+    public String position;
+
+    @Param({"4"})
+    public int depth;
+
+    private Search search;
+
+    /**
+     * Loads the benchmark position.
+     */
+    @Setup
+    public void setUp() {
+        search = new Search(Board.fromFen(BenchmarkPositions.fen(position)));
+    }
+
+    /**
+     * Measures the time to complete all iterations up to the fixed depth.
+     * 
+     * @return the search result
+     */
+    @Benchmark
+    public SearchResult searchToDepth() {
+        return search.search(depth, 0);
+    }
+}
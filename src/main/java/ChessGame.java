@@ -1,4 +1,12 @@
+import game.ConsolePlayer;
+import game.ConsoleRenderer;
+import game.EnginePlayer;
 import game.Game;
+import game.Player;
+import java.util.Arrays;
+import java.util.Scanner;
+import tools.BatchAnalysis;
+import uci.UciEngine;
 
 /**
  * Main class to run the console-based chess game.
@@ -7,19 +15,130 @@ import game.Game;
  * @version 1.0
  */
 public class ChessGame {
+    private static final int DEFAULT_ENGINE_DEPTH = 5;
+    private static final long DEFAULT_ENGINE_MOVE_TIME = 5000;
     
     /**
      * Main method to start the chess game.
      * 
-     * @param args command line arguments (not used)
+     * @param args command line arguments: optionally {@code --engine white|black|both}
+     *             to let the computer play a side, with {@code --depth N} and
+     *             {@code --movetime MS} to limit its search, {@code --hash MB}
+     *             to size its transposition table and {@code --threads N} to
+     *             search in parallel; or {@code --batch} followed by the
+     *             options and files of {@link BatchAnalysis} to analyse game
+     *             collections without playing; or {@code --uci} to speak
+     *             the UCI protocol on standard input and output
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchAnalysis.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length == 1 && args[0].equals("--uci")) {
+            UciEngine.main(new String[0]);
+            return;
+        }
+        Scanner scanner = new Scanner(System.in);
         try {
-            Game game = new Game();
+            Game game = args.length == 0 ? createConsoleGame(scanner) : createEngineGame(args, scanner);
+            game.addObserver(new ConsoleRenderer());
             game.start();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: ChessGame [--engine white|black|both] [--depth N] [--movetime MS] [--hash MB] [--threads N]");
+            System.err.println("       ChessGame --uci");
+            System.err.println("       ChessGame --batch [--threads N] [--depth D] [--chunk N] [--hash MB] file...");
+            System.exit(2);
         } catch (Exception e) {
             System.err.println("An error occurred while running the game: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Creates a game between two people, asking for their names.
+     * 
+     * @param scanner the console input shared by both players
+     * @return the new game
+     */
+    private static Game createConsoleGame(Scanner scanner) {
+        System.out.println("Welcome to Console Chess Game!");
+        System.out.println("===============================");
+        
+        System.out.print("Enter name for White player: ");
+        String whiteName = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        if (whiteName.isEmpty()) {
+            whiteName = "White Player";
+        }
+        
+        System.out.print("Enter name for Black player: ");
+        String blackName = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        if (blackName.isEmpty()) {
+            blackName = "Black Player";
+        }
+        
+        System.out.println("\nGame initialized!");
+        System.out.println("\nEnter 'QUIT' at any time to exit the game.");
+        System.out.println("Move format: FROM TO (e.g., E2 E4)");
+        return new Game(new ConsolePlayer(true, whiteName, scanner), new ConsolePlayer(false, blackName, scanner));
+    }
+
+    /**
+     * Creates a game in which the computer plays one or both sides.
+     * 
+     * @param args the command line arguments
+     * @param scanner the console input for a human player
+     * @return the new game
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    private static Game createEngineGame(String[] args, Scanner scanner) {
+        String side = null;
+        int depth = DEFAULT_ENGINE_DEPTH;
+        long moveTime = DEFAULT_ENGINE_MOVE_TIME;
+        int hash = EnginePlayer.DEFAULT_HASH_MEGABYTES;
+        int threads = 1;
+        
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--engine":
+                    side = value.toLowerCase();
+                    break;
+                case "--depth":
+                    depth = Integer.parseInt(value);
+                    break;
+                case "--movetime":
+                    moveTime = Long.parseLong(value);
+                    break;
+                case "--hash":
+                    hash = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+            }
+        }
+        if (side == null || !(side.equals("white") || side.equals("black") || side.equals("both"))) {
+            throw new IllegalArgumentException("--engine must be white, black or both");
         }
+        
+        boolean engineWhite = !side.equals("black");
+        boolean engineBlack = !side.equals("white");
+        Player white = engineWhite
+                ? new EnginePlayer(true, "Engine", depth, moveTime, hash, threads)
+                : new ConsolePlayer(true, "White Player", scanner);
+        Player black = engineBlack
+                ? new EnginePlayer(false, "Engine", depth, moveTime, hash, threads)
+                : new ConsolePlayer(false, "Black Player", scanner);
+        System.out.println("Welcome to Console Chess Game!");
+        return new Game(white, black);
     }
 }
@@ -0,0 +1,91 @@
+package board;
+
+/**
+ * Helper functions for 64-bit bitboards.
+ * Bit {@code row * 8 + column} of a bitboard represents the square at that
+ * row and column, using the same coordinates as {@link Position}
+ * (bit 0 is A8, bit 63 is H1).
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class Bitboard {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Bitboard() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Converts row and column coordinates to a square index.
+     * 
+     * @param row the row coordinate (0-7)
+     * @param column the column coordinate (0-7)
+     * @return the square index (0-63)
+     */
+    public static int square(int row, int column) {
+        return row * 8 + column;
+    }
+
+    /**
+     * Converts a position to a square index.
+     * 
+     * @param position the position to convert
+     * @return the square index (0-63)
+     */
+    public static int square(Position position) {
+        return position.getIndex();
+    }
+
+    /**
+     * Gets the row coordinate of a square index.
+     * 
+     * @param square the square index (0-63)
+     * @return the row coordinate (0-7)
+     */
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * Gets the column coordinate of a square index.
+     * 
+     * @param square the square index (0-63)
+     * @return the column coordinate (0-7)
+     */
+    public static int column(int square) {
+        return square & 7;
+    }
+
+    /**
+     * Gets the single-bit mask for a square.
+     * 
+     * @param square the square index (0-63)
+     * @return a bitboard with only that square set
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Gets the index of the lowest set square in a bitboard.
+     * 
+     * @param bitboard a non-empty bitboard
+     * @return the square index of the lowest set bit
+     */
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /**
+     * Counts the squares set in a bitboard.
+     * 
+     * @param bitboard the bitboard
+     * @return the number of set squares
+     */
+    public static int count(long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+}
@@ -2,26 +2,517 @@ package board;
 
 import pieces.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Represents the chessboard and manages piece positions and game state.
  * 
+ * <p>The position is held entirely in primitives: a 64-byte mailbox with a
+ * piece code per square, one bitboard per piece type and color plus
+ * occupancy masks (see {@link Bitboard}), a bitboard of pieces that have
+ * moved, and the side, castling and en passant flags. Moves, copies and
+ * move generation never touch a {@link Piece} object. The 8x8 array of
+ * pieces returned by {@link #getSquares()} and {@link #getPiece} is built
+ * from the mailbox when first asked for and dropped whenever the board
+ * changes, so callers must change the board through {@link #movePiece} or
+ * {@link #setPiece} and should not hold on to the pieces across moves.
+ * 
+ * <p>Moves can also be played with {@link #makeMove} and taken back with
+ * {@link #unmakeMove}. Each made move pushes a small undo record onto a
+ * stack, so speculative moves are explored in place without copying the
+ * board.
+ * 
+ * <p>A 64-bit Zobrist hash of the position (see {@link Zobrist}) is updated
+ * incrementally by every change to the board and is available from
+ * {@link #getHash()}, for use as a cache key or to spot repetitions. A
+ * second hash covers only the pawns ({@link #getPawnHash()}), for caching
+ * pawn structure terms that change only when a pawn moves or is captured.
+ * 
+ * <p>{@link #generateLegalMoves} produces only fully legal moves, including
+ * castling and en passant, working out pins and checks once per position.
+ * 
  * @author Chess Game
  * @version 1.0
  */
 public class Board {
+    /** FEN of the standard starting position. */
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    /** Castling right for white on the king's side. */
+    public static final int WHITE_KING_SIDE = 1;
+    /** Castling right for white on the queen's side. */
+    public static final int WHITE_QUEEN_SIDE = 2;
+    /** Castling right for black on the king's side. */
+    public static final int BLACK_KING_SIDE = 4;
+    /** Castling right for black on the queen's side. */
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    private final byte[] mailbox;
     private Piece[][] squares;
-    private List<Piece> capturedPieces;
+    private long[] pieceBitboards;
+    private long[] colorOccupancy;
+    private long occupancy;
+    private long movedPieces;
+    private int[] kingSquares;
+    private boolean whiteToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+    private long hash;
+    private long pawnHash;
+    private int pieceSquareScore;
+    private final MoveList moveBuffer = new MoveList();
+
+    // Undo stack: one record per move made, split across parallel arrays
+    private int[] undoMoves;
+    private int[] undoFlags;
+    private byte[] undoCaptured;
+    private long[] undoMovedPieces;
+    private long[] undoHashes;
+    private int undoSize;
+
+    private static final int INITIAL_UNDO_CAPACITY = 128;
+    // Undo flag layout: bits 0-3 the castling rights, bits 4-10 the en
+    // passant square plus one, bits 11-31 the halfmove clock
+    private static final int UNDO_CASTLING_SHIFT = 0;
+    private static final int UNDO_EN_PASSANT_SHIFT = 4;
+    private static final int UNDO_HALFMOVE_SHIFT = 11;
+    // Mailbox code of an empty square; a piece is 1 + its bitboard index
+    private static final byte EMPTY = 0;
+    // Kinds of moves to generate: captures (with en passant and every
+    // promotion) and quiet moves (with castling and double pawn pushes)
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int GENERATE_QUIETS = 2;
+    private static final int GENERATE_ALL = GENERATE_CAPTURES | GENERATE_QUIETS;
+
+    // Castling rights kept when a piece moves from or to each square
+    private static final int[] CASTLING_MASKS = new int[64];
+    // Bitboard of each row
+    private static final long[] ROW_MASKS = new long[8];
+
+    static {
+        for (int row = 0; row < 8; row++) {
+            ROW_MASKS[row] = 0xFFL << (row * 8);
+        }
+        Arrays.fill(CASTLING_MASKS, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLING_MASKS[Bitboard.square(0, 0)] &= ~BLACK_QUEEN_SIDE;
+        CASTLING_MASKS[Bitboard.square(0, 4)] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLING_MASKS[Bitboard.square(0, 7)] &= ~BLACK_KING_SIDE;
+        CASTLING_MASKS[Bitboard.square(7, 0)] &= ~WHITE_QUEEN_SIDE;
+        CASTLING_MASKS[Bitboard.square(7, 4)] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        CASTLING_MASKS[Bitboard.square(7, 7)] &= ~WHITE_KING_SIDE;
+    }
 
     /**
      * Constructor for Board class.
      * Initializes an empty 8x8 board.
      */
     public Board() {
-        this.squares = new Piece[8][8];
-        this.capturedPieces = new ArrayList<>();
-        initializeBoard();
+        this(true);
+    }
+
+    /**
+     * Constructor for an empty board, optionally set up with the pieces in
+     * their starting positions.
+     * 
+     * @param initialize true to place the starting pieces, false to leave the board empty
+     */
+    private Board(boolean initialize) {
+        this.mailbox = new byte[64];
+        this.pieceBitboards = new long[2 * Piece.TYPE_COUNT];
+        this.colorOccupancy = new long[2];
+        this.kingSquares = new int[] {-1, -1};
+        this.whiteToMove = true;
+        this.castlingRights = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        this.enPassantSquare = -1;
+        this.halfmoveClock = 0;
+        this.fullmoveNumber = 1;
+        this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+        this.undoFlags = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCaptured = new byte[INITIAL_UNDO_CAPACITY];
+        this.undoMovedPieces = new long[INITIAL_UNDO_CAPACITY];
+        this.undoHashes = new long[INITIAL_UNDO_CAPACITY];
+        this.undoSize = 0;
+        this.hash = Zobrist.castling(castlingRights);
+        if (initialize) {
+            initializeBoard();
+        }
+    }
+
+    /**
+     * Constructor for a copy of another board's position. Only primitive
+     * state is copied; no piece objects are created.
+     * 
+     * @param source the board to copy
+     */
+    private Board(Board source) {
+        this.mailbox = new byte[64];
+        System.arraycopy(source.mailbox, 0, this.mailbox, 0, 64);
+        this.pieceBitboards = source.pieceBitboards.clone();
+        this.colorOccupancy = source.colorOccupancy.clone();
+        this.occupancy = source.occupancy;
+        this.movedPieces = source.movedPieces;
+        this.kingSquares = source.kingSquares.clone();
+        this.whiteToMove = source.whiteToMove;
+        this.castlingRights = source.castlingRights;
+        this.enPassantSquare = source.enPassantSquare;
+        this.halfmoveClock = source.halfmoveClock;
+        this.fullmoveNumber = source.fullmoveNumber;
+        this.hash = source.hash;
+        this.pawnHash = source.pawnHash;
+        this.pieceSquareScore = source.pieceSquareScore;
+        this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+        this.undoFlags = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCaptured = new byte[INITIAL_UNDO_CAPACITY];
+        this.undoMovedPieces = new long[INITIAL_UNDO_CAPACITY];
+        this.undoHashes = new long[INITIAL_UNDO_CAPACITY];
+        this.undoSize = 0;
+    }
+
+    /**
+     * Creates a board from a position in Forsyth-Edwards Notation.
+     * 
+     * @param fen the position in FEN
+     * @return a new board holding the position
+     * @throws IllegalArgumentException if the FEN is malformed
+     */
+    public static Board fromFen(String fen) {
+        Board board = new Board(false);
+        board.loadFen(fen);
+        return board;
+    }
+
+    /**
+     * Replaces the position on this board with one given in Forsyth-Edwards
+     * Notation. Reads the piece placement, side to move, castling rights,
+     * en passant square and the halfmove and fullmove clocks in a single
+     * pass over the string, without splitting it. The two clocks may be left
+     * out, as in EPD, and then default to 0 and 1. The undo stack and
+     * captured pieces are cleared.
+     * 
+     * <p>Pieces have no move history in FEN, so kings and rooks are marked as
+     * moved unless a castling right needs them, and pawns unless they stand
+     * on their starting row.
+     * 
+     * @param fen the position in FEN
+     * @throws IllegalArgumentException if the FEN is malformed, or either side
+     *         does not have exactly one king
+     */
+    public void loadFen(String fen) {
+        if (fen == null) {
+            throw new IllegalArgumentException("FEN cannot be null");
+        }
+        clear();
+        int length = fen.length();
+        
+        // Piece placement, from row 0 (rank 8) to row 7 (rank 1)
+        int index = 0;
+        int row = 0;
+        int col = 0;
+        for (; index < length && fen.charAt(index) != ' '; index++) {
+            char c = fen.charAt(index);
+            if (c == '/') {
+                if (col != 8 || ++row > 7) {
+                    throw new IllegalArgumentException("Invalid FEN row ending: " + fen);
+                }
+                col = 0;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            } else {
+                int type = pieceTypeOf(c);
+                if (type < 0 || col > 7) {
+                    throw new IllegalArgumentException("Invalid FEN piece placement: " + fen);
+                }
+                if (type == Piece.PAWN && (row == 0 || row == 7)) {
+                    throw new IllegalArgumentException("FEN has a pawn on the first or last rank: " + fen);
+                }
+                placePiece(Bitboard.square(row, col), pieceCode(type, c < 'a'));
+                col++;
+            }
+            if (col > 8) {
+                throw new IllegalArgumentException("Too many squares in FEN row: " + fen);
+            }
+        }
+        if (row != 7 || col != 8) {
+            throw new IllegalArgumentException("FEN must describe all 8 rows: " + fen);
+        }
+        if (Bitboard.count(getPieceBitboard(Piece.KING, true)) != 1
+                || Bitboard.count(getPieceBitboard(Piece.KING, false)) != 1) {
+            throw new IllegalArgumentException("FEN must have exactly one king per side: " + fen);
+        }
+        
+        // Side to move
+        index = expectSpace(fen, index);
+        if (index >= length || (fen.charAt(index) != 'w' && fen.charAt(index) != 'b')) {
+            throw new IllegalArgumentException("FEN side to move must be 'w' or 'b': " + fen);
+        }
+        whiteToMove = fen.charAt(index++) == 'w';
+        
+        // Castling rights, either '-' or each of KQkq at most once
+        index = expectSpace(fen, index);
+        castlingRights = 0;
+        if (index < length && fen.charAt(index) == '-') {
+            index++;
+        } else {
+            int start = index;
+            for (; index < length && fen.charAt(index) != ' '; index++) {
+                int right = "KQkq".indexOf(fen.charAt(index));
+                if (right < 0 || (castlingRights & (1 << right)) != 0) {
+                    throw new IllegalArgumentException("Invalid FEN castling rights: " + fen);
+                }
+                castlingRights |= 1 << right;
+            }
+            if (index == start) {
+                throw new IllegalArgumentException("Missing FEN castling rights: " + fen);
+            }
+            if (!hasCastlingPieces()) {
+                throw new IllegalArgumentException("FEN castling rights without king and rook on their squares: " + fen);
+            }
+        }
+        
+        // En passant square, on the row behind a pawn that just moved two squares
+        index = expectSpace(fen, index);
+        if (index < length && fen.charAt(index) == '-') {
+            index++;
+        } else {
+            if (index + 1 >= length) {
+                throw new IllegalArgumentException("Invalid FEN en passant square: " + fen);
+            }
+            char file = fen.charAt(index);
+            char rank = fen.charAt(index + 1);
+            if (file < 'a' || file > 'h' || rank != (whiteToMove ? '6' : '3')) {
+                throw new IllegalArgumentException("Invalid FEN en passant square: " + fen);
+            }
+            enPassantSquare = Bitboard.square('8' - rank, file - 'a');
+            if (!hasDoublePushedPawn(enPassantSquare)) {
+                throw new IllegalArgumentException("FEN en passant square without a pawn that just moved two squares: " + fen);
+            }
+            index += 2;
+        }
+        
+        // Optional halfmove and fullmove clocks
+        if (index < length) {
+            index = expectSpace(fen, index);
+            int start = index;
+            halfmoveClock = 0;
+            for (; index < length && fen.charAt(index) != ' '; index++) {
+                halfmoveClock = parseDigit(fen, index, halfmoveClock);
+            }
+            index = expectSpace(fen, index);
+            fullmoveNumber = 0;
+            for (; index < length; index++) {
+                fullmoveNumber = parseDigit(fen, index, fullmoveNumber);
+            }
+            if (index - start < 3 || fullmoveNumber < 1) {
+                throw new IllegalArgumentException("Invalid FEN move clocks: " + fen);
+            }
+        }
+        
+        markMovedPieces();
+        hash = computeHash();
+    }
+
+    /**
+     * Checks that the king and rook of every castling right still stand on
+     * their starting squares.
+     * 
+     * @return true if every castling right can be used, false otherwise
+     */
+    private boolean hasCastlingPieces() {
+        int[][] rights = {
+            {WHITE_KING_SIDE, 60, 63}, {WHITE_QUEEN_SIDE, 60, 56},
+            {BLACK_KING_SIDE, 4, 7}, {BLACK_QUEEN_SIDE, 4, 0}
+        };
+        for (int[] right : rights) {
+            boolean white = right[1] == 60;
+            if ((castlingRights & right[0]) != 0
+                    && (mailbox[right[1]] != pieceCode(Piece.KING, white)
+                        || mailbox[right[2]] != pieceCode(Piece.ROOK, white))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that a pawn of the side not to move could just have moved two
+     * squares past the en passant square: it stands in front of the square,
+     * and the square and the pawn's starting square are empty.
+     * 
+     * @param square the en passant square index
+     * @return true if the en passant square is possible, false otherwise
+     */
+    private boolean hasDoublePushedPawn(int square) {
+        int pawnSquare = whiteToMove ? square + 8 : square - 8;
+        int startSquare = whiteToMove ? square - 8 : square + 8;
+        return mailbox[pawnSquare] == pieceCode(Piece.PAWN, !whiteToMove)
+                && mailbox[square] == EMPTY && mailbox[startSquare] == EMPTY;
+    }
+
+    /**
+     * Checks for the single space between two FEN fields.
+     * 
+     * @param fen the FEN being parsed
+     * @param index the index where the space should be
+     * @return the index of the next field
+     * @throws IllegalArgumentException if there is no space at the index
+     */
+    private static int expectSpace(String fen, int index) {
+        if (index >= fen.length() || fen.charAt(index) != ' ') {
+            throw new IllegalArgumentException("FEN fields must be separated by single spaces: " + fen);
+        }
+        return index + 1;
+    }
+
+    /**
+     * Adds one decimal digit of a FEN move clock to the value read so far.
+     * 
+     * @param fen the FEN being parsed
+     * @param index the index of the digit
+     * @param value the value of the preceding digits
+     * @return the new value
+     * @throws IllegalArgumentException if the character is not a digit or the value is too large
+     */
+    private static int parseDigit(String fen, int index, int value) {
+        char c = fen.charAt(index);
+        if (c < '0' || c > '9' || value > 99999) {
+            throw new IllegalArgumentException("Invalid FEN move clocks: " + fen);
+        }
+        return value * 10 + (c - '0');
+    }
+
+    /**
+     * Gets the piece type of a FEN piece letter.
+     * 
+     * @param c the letter, upper case for white and lower case for black
+     * @return the piece type index, or -1 if the letter is not a piece
+     */
+    private static int pieceTypeOf(char c) {
+        switch (c) {
+            case 'P': case 'p':
+                return Piece.PAWN;
+            case 'N': case 'n':
+                return Piece.KNIGHT;
+            case 'B': case 'b':
+                return Piece.BISHOP;
+            case 'R': case 'r':
+                return Piece.ROOK;
+            case 'Q': case 'q':
+                return Piece.QUEEN;
+            case 'K': case 'k':
+                return Piece.KING;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Writes the position in Forsyth-Edwards Notation, including the move
+     * clocks. The en passant square is given after every double pawn push,
+     * whether or not a capture is possible.
+     * 
+     * @return the position in FEN
+     */
+    public String toFen() {
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                int code = mailbox[Bitboard.square(row, col)];
+                if (code == EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = "PNBRQK".charAt(typeOf(code));
+                fen.append(isWhite(code) ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row < 7) {
+                fen.append('/');
+            }
+        }
+        
+        fen.append(whiteToMove ? " w " : " b ");
+        if (castlingRights == 0) {
+            fen.append('-');
+        } else {
+            for (int right = 0; right < 4; right++) {
+                if ((castlingRights & (1 << right)) != 0) {
+                    fen.append("KQkq".charAt(right));
+                }
+            }
+        }
+        fen.append(' ');
+        if (enPassantSquare < 0) {
+            fen.append('-');
+        } else {
+            fen.append((char) ('a' + Bitboard.column(enPassantSquare)))
+                    .append((char) ('8' - Bitboard.row(enPassantSquare)));
+        }
+        return fen.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber).toString();
+    }
+
+    /**
+     * Empties the board and resets all position state.
+     */
+    private void clear() {
+        Arrays.fill(mailbox, EMPTY);
+        squares = null;
+        Arrays.fill(pieceBitboards, 0);
+        Arrays.fill(colorOccupancy, 0);
+        occupancy = 0;
+        movedPieces = 0;
+        kingSquares[0] = -1;
+        kingSquares[1] = -1;
+        whiteToMove = true;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        undoSize = 0;
+        hash = 0;
+        pawnHash = 0;
+        pieceSquareScore = 0;
+    }
+
+    /**
+     * Sets the moved flag of every piece from what the position implies:
+     * kings and rooks keep it clear only while a castling right depends on
+     * them, and pawns only on their starting row.
+     */
+    private void markMovedPieces() {
+        long unmoved = getPieceBitboard(Piece.PAWN, true) & ROW_MASKS[6]
+                | getPieceBitboard(Piece.PAWN, false) & ROW_MASKS[1]
+                | getPieceBitboard(Piece.KNIGHT, true) | getPieceBitboard(Piece.KNIGHT, false)
+                | getPieceBitboard(Piece.BISHOP, true) | getPieceBitboard(Piece.BISHOP, false)
+                | getPieceBitboard(Piece.QUEEN, true) | getPieceBitboard(Piece.QUEEN, false);
+        if ((castlingRights & (WHITE_KING_SIDE | WHITE_QUEEN_SIDE)) != 0) {
+            unmoved |= Bitboard.bit(Bitboard.square(7, 4));
+        }
+        if ((castlingRights & (BLACK_KING_SIDE | BLACK_QUEEN_SIDE)) != 0) {
+            unmoved |= Bitboard.bit(Bitboard.square(0, 4));
+        }
+        if ((castlingRights & WHITE_KING_SIDE) != 0) {
+            unmoved |= Bitboard.bit(Bitboard.square(7, 7));
+        }
+        if ((castlingRights & WHITE_QUEEN_SIDE) != 0) {
+            unmoved |= Bitboard.bit(Bitboard.square(7, 0));
+        }
+        if ((castlingRights & BLACK_KING_SIDE) != 0) {
+            unmoved |= Bitboard.bit(Bitboard.square(0, 7));
+        }
+        if ((castlingRights & BLACK_QUEEN_SIDE) != 0) {
+            unmoved |= Bitboard.bit(Bitboard.square(0, 0));
+        }
+        movedPieces = occupancy & ~unmoved;
+        squares = null;
     }
 
     /**
@@ -30,35 +521,35 @@ public class Board {
     private void initializeBoard() {
         // Initialize black pieces (rows 0-1)
         // Row 0 (black back rank)
-        squares[0][0] = new Rook(false, new Position(0, 0));
-        squares[0][1] = new Knight(false, new Position(0, 1));
-        squares[0][2] = new Bishop(false, new Position(0, 2));
-        squares[0][3] = new Queen(false, new Position(0, 3));
-        squares[0][4] = new King(false, new Position(0, 4));
-        squares[0][5] = new Bishop(false, new Position(0, 5));
-        squares[0][6] = new Knight(false, new Position(0, 6));
-        squares[0][7] = new Rook(false, new Position(0, 7));
+        placePiece(new Rook(false, Position.of(0, 0)));
+        placePiece(new Knight(false, Position.of(0, 1)));
+        placePiece(new Bishop(false, Position.of(0, 2)));
+        placePiece(new Queen(false, Position.of(0, 3)));
+        placePiece(new King(false, Position.of(0, 4)));
+        placePiece(new Bishop(false, Position.of(0, 5)));
+        placePiece(new Knight(false, Position.of(0, 6)));
+        placePiece(new Rook(false, Position.of(0, 7)));
         
         // Row 1 (black pawns)
         for (int col = 0; col < 8; col++) {
-            squares[1][col] = new Pawn(false, new Position(1, col));
+            placePiece(new Pawn(false, Position.of(1, col)));
         }
         
         // Initialize white pieces (rows 6-7)
         // Row 6 (white pawns)
         for (int col = 0; col < 8; col++) {
-            squares[6][col] = new Pawn(true, new Position(6, col));
+            placePiece(new Pawn(true, Position.of(6, col)));
         }
         
         // Row 7 (white back rank)
-        squares[7][0] = new Rook(true, new Position(7, 0));
-        squares[7][1] = new Knight(true, new Position(7, 1));
-        squares[7][2] = new Bishop(true, new Position(7, 2));
-        squares[7][3] = new Queen(true, new Position(7, 3));
-        squares[7][4] = new King(true, new Position(7, 4));
-        squares[7][5] = new Bishop(true, new Position(7, 5));
-        squares[7][6] = new Knight(true, new Position(7, 6));
-        squares[7][7] = new Rook(true, new Position(7, 7));
+        placePiece(new Rook(true, Position.of(7, 0)));
+        placePiece(new Knight(true, Position.of(7, 1)));
+        placePiece(new Bishop(true, Position.of(7, 2)));
+        placePiece(new Queen(true, Position.of(7, 3)));
+        placePiece(new King(true, Position.of(7, 4)));
+        placePiece(new Bishop(true, Position.of(7, 5)));
+        placePiece(new Knight(true, Position.of(7, 6)));
+        placePiece(new Rook(true, Position.of(7, 7)));
     }
 
     /**
@@ -68,32 +559,531 @@ public class Board {
      * @return the piece at the position, or null if empty
      */
     public Piece getPiece(Position position) {
-        return squares[position.getRow()][position.getColumn()];
+        return getSquares()[position.getRow()][position.getColumn()];
     }
 
     /**
      * Moves a piece from one position to another.
+     * A king moving two squares castles and a pawn moving diagonally onto
+     * the en passant square captures en passant. The move is recorded on
+     * the undo stack like {@link #makeMove}.
      * 
      * @param from the starting position
      * @param to the destination position
      * @return true if the move was successful, false otherwise
      */
     public boolean movePiece(Position from, Position to) {
-        Piece piece = getPiece(from);
-        if (piece == null) {
+        int code = mailbox[Bitboard.square(from)];
+        if (code == EMPTY) {
             return false;
         }
         
-        Piece capturedPiece = getPiece(to);
-        if (capturedPiece != null) {
-            capturedPieces.add(capturedPiece);
+        int move = encodeMove(code, Bitboard.square(from), Bitboard.square(to));
+        makeMove(move);
+        return true;
+    }
+
+    /**
+     * Works out the packed move for a piece moving between two squares.
+     * Promotions are left to the caller.
+     * 
+     * @param code the mailbox code of the moving piece
+     * @param from the starting square index
+     * @param to the destination square index
+     * @return the packed move with its flags set
+     */
+    private int encodeMove(int code, int from, int to) {
+        int columnChange = Bitboard.column(to) - Bitboard.column(from);
+        if (typeOf(code) == Piece.KING && Math.abs(columnChange) == 2) {
+            return Move.encode(from, to, columnChange > 0 ? Move.KING_CASTLE : Move.QUEEN_CASTLE);
+        }
+        if (typeOf(code) == Piece.PAWN) {
+            if (to == enPassantSquare && columnChange != 0) {
+                return Move.encode(from, to, Move.EN_PASSANT);
+            }
+            if (Math.abs(to - from) == 16) {
+                return Move.encode(from, to, Move.DOUBLE_PAWN_PUSH);
+            }
+        }
+        return Move.encode(from, to, mailbox[to] != EMPTY ? Move.CAPTURE : Move.QUIET);
+    }
+
+    /**
+     * Plays a packed move (see {@link Move}) and pushes an undo record so it
+     * can be taken back with {@link #unmakeMove}. The move is not validated.
+     * Promotion moves replace the pawn with a piece of the promotion type,
+     * castling moves also move the rook, and en passant removes the passed
+     * pawn. Unlike {@link #movePiece}, captures are not added to the captured
+     * pieces list.
+     * 
+     * @param move the packed move to play
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        int code = mailbox[from];
+        
+        if (undoSize == undoMoves.length) {
+            growUndoStack();
         }
+        undoMoves[undoSize] = move;
+        undoHashes[undoSize] = hash;
+        undoMovedPieces[undoSize] = movedPieces;
+        undoFlags[undoSize] = (castlingRights << UNDO_CASTLING_SHIFT)
+                | ((enPassantSquare + 1) << UNDO_EN_PASSANT_SHIFT)
+                | (halfmoveClock << UNDO_HALFMOVE_SHIFT);
+        undoCaptured[undoSize] = (byte) removePiece(flags == Move.EN_PASSANT ? enPassantVictim(to, isWhite(code)) : to);
+        removePiece(from);
         
-        squares[from.getRow()][from.getColumn()] = null;
-        squares[to.getRow()][to.getColumn()] = piece;
-        piece.setPosition(to);
+        if (Move.isPromotion(move)) {
+            code = pieceCode(Move.promotionType(move), isWhite(code));
+        }
+        placePiece(to, code);
+        movedPieces = (movedPieces & ~Bitboard.bit(from)) | Bitboard.bit(to);
         
-        return true;
+        if (flags == Move.KING_CASTLE) {
+            relocatePiece(to + 1, to - 1);
+        } else if (flags == Move.QUEEN_CASTLE) {
+            relocatePiece(to - 2, to + 1);
+        }
+        
+        hash ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.castling(castlingRights);
+        enPassantSquare = flags == Move.DOUBLE_PAWN_PUSH ? (from + to) / 2 : -1;
+        castlingRights &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+        hash ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.castling(castlingRights) ^ Zobrist.blackToMove();
+        // Promoted pieces count as pawn moves
+        boolean pawnMove = typeOf(code) == Piece.PAWN || Move.isPromotion(move);
+        halfmoveClock = pawnMove || undoCaptured[undoSize] != EMPTY ? 0 : halfmoveClock + 1;
+        if (!whiteToMove) {
+            fullmoveNumber++;
+        }
+        undoSize++;
+        whiteToMove = !whiteToMove;
+    }
+
+    /**
+     * Takes back the last move made with {@link #makeMove} or
+     * {@link #movePiece}, restoring the captured piece, the moved flags,
+     * castling rights, the en passant square, the move clocks, the hash and,
+     * for promotions, the original pawn.
+     * The captured pieces list is not rewound.
+     * 
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        undoSize--;
+        int move = undoMoves[undoSize];
+        int state = undoFlags[undoSize];
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        
+        if (flags == Move.KING_CASTLE) {
+            relocatePiece(to - 1, to + 1);
+        } else if (flags == Move.QUEEN_CASTLE) {
+            relocatePiece(to + 1, to - 2);
+        }
+        
+        int code = removePiece(to);
+        if (Move.isPromotion(move)) {
+            code = pieceCode(Piece.PAWN, isWhite(code));
+        }
+        placePiece(from, code);
+        
+        int captured = undoCaptured[undoSize];
+        if (captured != EMPTY) {
+            placePiece(flags == Move.EN_PASSANT ? enPassantVictim(to, isWhite(code)) : to, captured);
+        }
+        
+        movedPieces = undoMovedPieces[undoSize];
+        castlingRights = (state >>> UNDO_CASTLING_SHIFT) & 0xF;
+        enPassantSquare = ((state >>> UNDO_EN_PASSANT_SHIFT) & 0x7F) - 1;
+        halfmoveClock = state >>> UNDO_HALFMOVE_SHIFT;
+        hash = undoHashes[undoSize];
+        whiteToMove = !whiteToMove;
+        if (!whiteToMove) {
+            fullmoveNumber--;
+        }
+    }
+
+    /**
+     * Gets the square of the pawn captured by an en passant move.
+     * 
+     * @param to the destination square of the capturing pawn
+     * @param capturerIsWhite true if the capturing pawn is white
+     * @return the square index of the captured pawn
+     */
+    private static int enPassantVictim(int to, boolean capturerIsWhite) {
+        return capturerIsWhite ? to + 8 : to - 8;
+    }
+
+    /**
+     * Moves a piece between two squares and marks it as moved. Used for the
+     * rook when castling.
+     * 
+     * @param from the starting square index
+     * @param to the destination square index
+     */
+    private void relocatePiece(int from, int to) {
+        placePiece(to, removePiece(from));
+        movedPieces = (movedPieces & ~Bitboard.bit(from)) | Bitboard.bit(to);
+    }
+
+    /**
+     * Doubles the capacity of the undo stack.
+     */
+    private void growUndoStack() {
+        int capacity = undoMoves.length * 2;
+        undoMoves = Arrays.copyOf(undoMoves, capacity);
+        undoFlags = Arrays.copyOf(undoFlags, capacity);
+        undoCaptured = Arrays.copyOf(undoCaptured, capacity);
+        undoMovedPieces = Arrays.copyOf(undoMovedPieces, capacity);
+        undoHashes = Arrays.copyOf(undoHashes, capacity);
+    }
+
+    /**
+     * Gets the number of moves on the undo stack.
+     * 
+     * @return the number of moves that can be taken back
+     */
+    public int getMoveCount() {
+        return undoSize;
+    }
+
+    /**
+     * Checks whose turn it is. The side to move flips with every move made.
+     * 
+     * @return true if white is to move, false if black is to move
+     */
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    /**
+     * Gets the number of halfmoves since the last capture or pawn move, as
+     * used by the fifty-move rule.
+     * 
+     * @return the halfmove clock
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Gets the number of the current full move. It starts at 1 and goes up
+     * after each black move.
+     * 
+     * @return the fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Gets the castling rights still available, as a combination of
+     * {@link #WHITE_KING_SIDE}, {@link #WHITE_QUEEN_SIDE},
+     * {@link #BLACK_KING_SIDE} and {@link #BLACK_QUEEN_SIDE}.
+     * A right is lost once its king or rook moves or the rook is captured.
+     * 
+     * @return the castling rights bit set
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: pieces, side to move, castling
+     * rights and en passant file. The hash is maintained incrementally, so
+     * this is a plain field read.
+     * 
+     * @return the 64-bit position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Checks if the current position already occurred earlier in the moves
+     * on the undo stack. Only positions since the last capture or pawn move
+     * are compared, as no earlier position can come back.
+     * 
+     * @return true if the position repeats an earlier one
+     */
+    public boolean isRepetition() {
+        int oldest = Math.max(undoSize - halfmoveClock, 0);
+        for (int i = undoSize - 2; i >= oldest; i -= 2) {
+            if (undoHashes[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the Zobrist hash of the position from scratch. It always
+     * equals {@link #getHash()}; this is meant for verifying the
+     * incremental updates.
+     * 
+     * @return the 64-bit position hash
+     */
+    public long computeHash() {
+        long key = Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+        if (!whiteToMove) {
+            key ^= Zobrist.blackToMove();
+        }
+        for (long pieces = occupancy; pieces != 0; pieces &= pieces - 1) {
+            int square = Bitboard.first(pieces);
+            key ^= Zobrist.piece(typeOf(mailbox[square]), isWhite(mailbox[square]), square);
+        }
+        return key;
+    }
+
+    /**
+     * Gets the Zobrist hash of the pawns alone, of both colors. Like
+     * {@link #getHash()} it is maintained incrementally, and it only changes
+     * when a pawn moves, is captured or promotes.
+     * 
+     * @return the 64-bit pawn hash, 0 when there are no pawns
+     */
+    public long getPawnHash() {
+        return pawnHash;
+    }
+
+    /**
+     * Computes the pawn hash from scratch. It always equals
+     * {@link #getPawnHash()}; this is meant for verifying the incremental
+     * updates.
+     * 
+     * @return the 64-bit pawn hash
+     */
+    public long computePawnHash() {
+        long key = 0;
+        for (long pawns = getPieceBitboard(Piece.PAWN, true) | getPieceBitboard(Piece.PAWN, false);
+                pawns != 0; pawns &= pawns - 1) {
+            int square = Bitboard.first(pawns);
+            key ^= Zobrist.piece(Piece.PAWN, isWhite(mailbox[square]), square);
+        }
+        return key;
+    }
+
+    /**
+     * Gets the material and piece-square score of the position, with the
+     * middlegame and endgame parts packed together (see
+     * {@link PieceSquareTables}). It is kept up to date as pieces are
+     * placed, moved, captured and promoted, so reading it costs nothing.
+     * 
+     * @return the packed score from white's point of view
+     */
+    public int getPieceSquareScore() {
+        return pieceSquareScore;
+    }
+
+    /**
+     * Computes the material and piece-square score from scratch. It always
+     * equals {@link #getPieceSquareScore()}; this is meant for verifying
+     * the incremental updates.
+     * 
+     * @return the packed score from white's point of view
+     */
+    public int computePieceSquareScore() {
+        int score = 0;
+        for (long pieces = occupancy; pieces != 0; pieces &= pieces - 1) {
+            int square = Bitboard.first(pieces);
+            score += PieceSquareTables.value(typeOf(mailbox[square]), isWhite(mailbox[square]), square);
+        }
+        return score;
+    }
+
+    /**
+     * Gets the square a pawn may capture en passant on this move.
+     * 
+     * @return the en passant square index, or -1 if there is none
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * Places a piece on a square, replacing whatever was there.
+     * The board keeps the piece's type, color and moved flag, not the piece
+     * object itself. Used for pawn promotion.
+     * 
+     * @param position the square to set
+     * @param piece the piece to place, or null to empty the square
+     */
+    public void setPiece(Position position, Piece piece) {
+        int square = Bitboard.square(position);
+        removePiece(square);
+        movedPieces &= ~Bitboard.bit(square);
+        if (piece != null) {
+            placePiece(square, piece);
+        }
+    }
+
+    /**
+     * Puts a piece object's type and color on an empty square, keeping its
+     * moved flag.
+     * 
+     * @param square the square index
+     * @param piece the piece to place
+     */
+    private void placePiece(int square, Piece piece) {
+        placePiece(square, pieceCode(piece.getType(), piece.isWhite()));
+        if (piece.hasMoved()) {
+            movedPieces |= Bitboard.bit(square);
+        }
+    }
+
+    /**
+     * Puts a piece on the empty square given by its own position.
+     * 
+     * @param piece the piece to place
+     */
+    private void placePiece(Piece piece) {
+        placePiece(Bitboard.square(piece.getPosition()), piece);
+    }
+
+    /**
+     * Puts a piece on an empty square and sets its bits in the bitboards,
+     * updating the hashes and the piece-square score.
+     * 
+     * @param square the square index
+     * @param code the mailbox code of the piece
+     */
+    private void placePiece(int square, int code) {
+        long bit = Bitboard.bit(square);
+        int type = typeOf(code);
+        boolean white = isWhite(code);
+        mailbox[square] = (byte) code;
+        squares = null;
+        pieceBitboards[code - 1] |= bit;
+        colorOccupancy[white ? 0 : 1] |= bit;
+        occupancy |= bit;
+        hash ^= Zobrist.piece(type, white, square);
+        pieceSquareScore += PieceSquareTables.value(type, white, square);
+        if (type == Piece.PAWN) {
+            pawnHash ^= Zobrist.piece(type, white, square);
+        }
+        if (type == Piece.KING) {
+            kingSquares[white ? 0 : 1] = square;
+        }
+    }
+
+    /**
+     * Removes the piece on a square and clears its bits in the bitboards,
+     * updating the hashes and the piece-square score.
+     * 
+     * @param square the square index
+     * @return the mailbox code of the removed piece, or {@code EMPTY} if the square was empty
+     */
+    private int removePiece(int square) {
+        int code = mailbox[square];
+        if (code != EMPTY) {
+            long mask = ~Bitboard.bit(square);
+            int type = typeOf(code);
+            boolean white = isWhite(code);
+            mailbox[square] = EMPTY;
+            squares = null;
+            pieceBitboards[code - 1] &= mask;
+            colorOccupancy[white ? 0 : 1] &= mask;
+            occupancy &= mask;
+            hash ^= Zobrist.piece(type, white, square);
+            pieceSquareScore -= PieceSquareTables.value(type, white, square);
+            if (type == Piece.PAWN) {
+                pawnHash ^= Zobrist.piece(type, white, square);
+            }
+            if (type == Piece.KING) {
+                kingSquares[white ? 0 : 1] = -1;
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Gets the mailbox code of a piece type and color.
+     * 
+     * @param type the piece type index
+     * @param isWhite true for white, false for black
+     * @return the code, from 1 to 12
+     */
+    private static int pieceCode(int type, boolean isWhite) {
+        return bitboardIndex(type, isWhite) + 1;
+    }
+
+    /**
+     * Gets the piece type of a mailbox code.
+     * 
+     * @param code a non-empty mailbox code
+     * @return the piece type index
+     */
+    private static int typeOf(int code) {
+        return code <= Piece.TYPE_COUNT ? code - 1 : code - 1 - Piece.TYPE_COUNT;
+    }
+
+    /**
+     * Gets the color of a mailbox code.
+     * 
+     * @param code a non-empty mailbox code
+     * @return true for white, false for black
+     */
+    private static boolean isWhite(int code) {
+        return code <= Piece.TYPE_COUNT;
+    }
+
+    /**
+     * Gets the index into {@code pieceBitboards} for a piece type and color.
+     * 
+     * @param type the piece type index
+     * @param isWhite true for white, false for black
+     * @return the bitboard index
+     */
+    private static int bitboardIndex(int type, boolean isWhite) {
+        return isWhite ? type : Piece.TYPE_COUNT + type;
+    }
+
+    /**
+     * Gets the type of the piece on a square.
+     * 
+     * @param square the square index
+     * @return the piece type index, or -1 if the square is empty
+     */
+    public int getPieceType(int square) {
+        int code = mailbox[square];
+        return code == EMPTY ? -1 : typeOf(code);
+    }
+
+    /**
+     * Gets the bitboard of all pieces of a given type and color.
+     * 
+     * @param type the piece type index (e.g. {@link Piece#KNIGHT})
+     * @param isWhite true for white pieces, false for black pieces
+     * @return the bitboard of matching pieces
+     */
+    public long getPieceBitboard(int type, boolean isWhite) {
+        return pieceBitboards[bitboardIndex(type, isWhite)];
+    }
+
+    /**
+     * Gets the bitboard of all squares occupied by one color.
+     * 
+     * @param isWhite true for white pieces, false for black pieces
+     * @return the occupancy bitboard of that color
+     */
+    public long getOccupancy(boolean isWhite) {
+        return colorOccupancy[isWhite ? 0 : 1];
+    }
+
+    /**
+     * Gets the bitboard of all occupied squares.
+     * 
+     * @return the occupancy bitboard
+     */
+    public long getOccupancy() {
+        return occupancy;
     }
 
     /**
@@ -103,87 +1093,423 @@ public class Board {
      * @return true if the color is in check, false otherwise
      */
     public boolean isCheck(boolean isWhite) {
-        Position kingPosition = findKing(isWhite);
-        if (kingPosition == null) {
+        int kingSquare = kingSquares[isWhite ? 0 : 1];
+        if (kingSquare < 0) {
             return false; // King not found (shouldn't happen in normal play)
         }
+        return isSquareAttacked(kingSquare, !isWhite);
+    }
+
+    /**
+     * Checks if a square is attacked by any piece of the given color.
+     * 
+     * @param position the square to check
+     * @param byWhite true to look for white attackers, false for black attackers
+     * @return true if the square is attacked, false otherwise
+     */
+    public boolean isSquareAttacked(Position position, boolean byWhite) {
+        return isSquareAttacked(Bitboard.square(position), byWhite);
+    }
+
+    /**
+     * Checks if a square is attacked by any piece of the given color.
+     * Looks outward from the square itself: a piece of each type placed on
+     * the square would attack exactly the squares an enemy piece of that type
+     * attacks it from, so each test is one table lookup and a mask.
+     * Returns as soon as an attacker is found.
+     * 
+     * @param square the square index to check
+     * @param byWhite true to look for white attackers, false for black attackers
+     * @return true if the square is attacked, false otherwise
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        if ((AttackTables.knightAttacks(square) & getPieceBitboard(Piece.KNIGHT, byWhite)) != 0) {
+            return true;
+        }
+        if ((AttackTables.pawnAttacks(square, !byWhite) & getPieceBitboard(Piece.PAWN, byWhite)) != 0) {
+            return true;
+        }
         
-        // Check if any enemy piece can attack the king
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = squares[row][col];
-                if (piece != null && piece.isWhite() != isWhite) {
-                    if (piece.isValidMove(kingPosition, squares)) {
-                        return true;
-                    }
-                }
-            }
+        long queens = getPieceBitboard(Piece.QUEEN, byWhite);
+        long straightSliders = getPieceBitboard(Piece.ROOK, byWhite) | queens;
+        if (straightSliders != 0 && (AttackTables.rookAttacks(square, occupancy) & straightSliders) != 0) {
+            return true;
+        }
+        long diagonalSliders = getPieceBitboard(Piece.BISHOP, byWhite) | queens;
+        if (diagonalSliders != 0 && (AttackTables.bishopAttacks(square, occupancy) & diagonalSliders) != 0) {
+            return true;
         }
         
+        return (AttackTables.kingAttacks(square) & getPieceBitboard(Piece.KING, byWhite)) != 0;
+    }
+
+    /**
+     * Gets all pieces of one color that attack a square, for a given
+     * occupancy of the board.
+     * 
+     * @param square the square index
+     * @param byWhite true for white attackers, false for black attackers
+     * @param occupied the occupancy used to stop sliding pieces
+     * @return the bitboard of attacking pieces
+     */
+    private long attackersTo(int square, boolean byWhite, long occupied) {
+        long queens = getPieceBitboard(Piece.QUEEN, byWhite);
+        return (AttackTables.knightAttacks(square) & getPieceBitboard(Piece.KNIGHT, byWhite))
+                | (AttackTables.pawnAttacks(square, !byWhite) & getPieceBitboard(Piece.PAWN, byWhite))
+                | (AttackTables.kingAttacks(square) & getPieceBitboard(Piece.KING, byWhite))
+                | (AttackTables.rookAttacks(square, occupied) & (getPieceBitboard(Piece.ROOK, byWhite) | queens))
+                | (AttackTables.bishopAttacks(square, occupied) & (getPieceBitboard(Piece.BISHOP, byWhite) | queens));
+    }
+
+    /**
+     * Generates every legal move for one color and appends it to the given
+     * buffer as a packed move (see {@link Move}).
+     * 
+     * <p>The checking pieces and the pinned pieces are worked out once up
+     * front. In double check only the king moves; in single check other
+     * pieces must capture the checker or block its line; pinned pieces stay
+     * on the line through their king. King moves are tested with the king
+     * lifted off the board so it cannot step back along a checking ray, and
+     * en passant gets a full attack test because it removes two pieces from
+     * a row. No move is ever played to test its legality.
+     * 
+     * @param isWhite true to generate white's moves, false for black's
+     * @param moves the buffer to append the moves to
+     */
+    public void generateLegalMoves(boolean isWhite, MoveList moves) {
+        generateMoves(isWhite, GENERATE_ALL, -1L, moves);
+    }
+
+    /**
+     * Generates the legal captures, en passant captures and promotions of
+     * one color and appends them to the given buffer. Together with
+     * {@link #generateQuietMoves} it produces the same moves as
+     * {@link #generateLegalMoves}, so a search can generate the quiet moves
+     * only when the captures did not already settle a position.
+     * 
+     * @param isWhite true to generate white's moves, false for black's
+     * @param moves the buffer to append the moves to
+     */
+    public void generateCaptures(boolean isWhite, MoveList moves) {
+        generateMoves(isWhite, GENERATE_CAPTURES, -1L, moves);
+    }
+
+    /**
+     * Generates the legal moves of one color that neither capture nor
+     * promote, including castling, and appends them to the given buffer.
+     * 
+     * @param isWhite true to generate white's moves, false for black's
+     * @param moves the buffer to append the moves to
+     */
+    public void generateQuietMoves(boolean isWhite, MoveList moves) {
+        generateMoves(isWhite, GENERATE_QUIETS, -1L, moves);
+    }
+
+    /**
+     * Checks if a packed move is legal for the side to move in this
+     * position, for example a move remembered from another position. Only
+     * the moves of the piece on the starting square are generated.
+     * 
+     * @param move the packed move, including its flags
+     * @return true if the move is legal, false otherwise
+     */
+    public boolean isLegalMove(int move) {
+        int from = Move.from(move);
+        int code = mailbox[from];
+        if (code == EMPTY || isWhite(code) != whiteToMove) {
+            return false;
+        }
+        moveBuffer.clear();
+        generateMoves(whiteToMove, GENERATE_ALL, Bitboard.bit(from), moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            if (moveBuffer.get(i) == move) {
+                return true;
+            }
+        }
         return false;
     }
 
     /**
-     * Checks if a given color is in checkmate.
+     * Generates the legal moves of the given kinds for the pieces of one
+     * color on the given squares (see {@link #generateLegalMoves}).
      * 
-     * @param isWhite true if checking white, false if checking black
-     * @return true if the color is in checkmate, false otherwise
+     * @param isWhite true to generate white's moves, false for black's
+     * @param kinds {@code GENERATE_CAPTURES}, {@code GENERATE_QUIETS} or both
+     * @param fromMask the squares of the pieces to generate moves for
+     * @param moves the buffer to append the moves to
      */
-    public boolean isCheckmate(boolean isWhite) {
-        if (!isCheck(isWhite)) {
-            return false; // Not in check, so not checkmate
+    private void generateMoves(boolean isWhite, int kinds, long fromMask, MoveList moves) {
+        int kingSquare = kingSquares[isWhite ? 0 : 1];
+        if (kingSquare < 0) {
+            return;
         }
+        long own = getOccupancy(isWhite);
+        long enemy = getOccupancy(!isWhite);
+        long targets = ((kinds & GENERATE_CAPTURES) != 0 ? enemy : 0)
+                | ((kinds & GENERATE_QUIETS) != 0 ? ~occupancy : 0);
         
-        // Check if any move can get out of check
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = squares[row][col];
-                if (piece != null && piece.isWhite() == isWhite) {
-                    List<Position> possibleMoves = piece.possibleMoves(squares);
-                    for (Position move : possibleMoves) {
-                        // Try the move and see if it gets out of check
-                        Piece originalPiece = getPiece(move);
-                        Position originalPosition = piece.getPosition();
-                        
-                        // Make the move
-                        squares[originalPosition.getRow()][originalPosition.getColumn()] = null;
-                        squares[move.getRow()][move.getColumn()] = piece;
-                        piece.setPosition(move);
-                        
-                        boolean stillInCheck = isCheck(isWhite);
-                        
-                        // Undo the move
-                        squares[originalPosition.getRow()][originalPosition.getColumn()] = piece;
-                        squares[move.getRow()][move.getColumn()] = originalPiece;
-                        piece.setPosition(originalPosition);
-                        
-                        if (!stillInCheck) {
-                            return false; // Found a move that gets out of check
-                        }
-                    }
+        // King moves, with the king removed so sliders see through its square
+        if ((fromMask & Bitboard.bit(kingSquare)) != 0) {
+            long withoutKing = occupancy ^ Bitboard.bit(kingSquare);
+            for (long kingTargets = AttackTables.kingAttacks(kingSquare) & targets; kingTargets != 0; kingTargets &= kingTargets - 1) {
+                int to = Bitboard.first(kingTargets);
+                if (attackersTo(to, !isWhite, withoutKing) == 0) {
+                    moves.add(Move.encode(kingSquare, to, (enemy & Bitboard.bit(to)) != 0 ? Move.CAPTURE : Move.QUIET));
                 }
             }
         }
         
-        return true; // No moves can get out of check
+        long checkers = attackersTo(kingSquare, !isWhite, occupancy);
+        if (Bitboard.count(checkers) > 1) {
+            return; // Double check: only the king can move
+        }
+        
+        // Squares other pieces may move to: anywhere, or onto the checking line
+        long allowed = ~own;
+        if (checkers != 0) {
+            allowed = checkers | AttackTables.between(kingSquare, Bitboard.first(checkers));
+        } else if ((kinds & GENERATE_QUIETS) != 0 && (fromMask & Bitboard.bit(kingSquare)) != 0) {
+            addCastlingMoves(isWhite, kingSquare, moves);
+        }
+        
+        long pinned = pinnedPieces(isWhite, kingSquare);
+        for (int type = Piece.PAWN; type < Piece.KING; type++) {
+            for (long pieces = getPieceBitboard(type, isWhite) & fromMask; pieces != 0; pieces &= pieces - 1) {
+                int from = Bitboard.first(pieces);
+                long pieceAllowed = allowed;
+                if ((pinned & Bitboard.bit(from)) != 0) {
+                    pieceAllowed &= AttackTables.line(kingSquare, from);
+                }
+                
+                if (type == Piece.PAWN) {
+                    addPawnMoves(from, isWhite, enemy, pieceAllowed, kinds, moves);
+                    continue;
+                }
+                for (long pieceTargets = attacksFrom(type, from, occupancy) & pieceAllowed & targets;
+                        pieceTargets != 0; pieceTargets &= pieceTargets - 1) {
+                    int to = Bitboard.first(pieceTargets);
+                    moves.add(Move.encode(from, to, (enemy & Bitboard.bit(to)) != 0 ? Move.CAPTURE : Move.QUIET));
+                }
+            }
+        }
+        
+        if (enPassantSquare >= 0 && isWhite == whiteToMove && (kinds & GENERATE_CAPTURES) != 0) {
+            addEnPassantMoves(isWhite, kingSquare, fromMask, moves);
+        }
     }
 
     /**
-     * Finds the position of the king of the specified color.
+     * Gets the squares a knight, bishop, rook or queen on a square attacks.
      * 
-     * @param isWhite true if looking for white king, false for black king
-     * @return the position of the king, or null if not found
+     * @param type the piece type index
+     * @param square the square index
+     * @param occupied the occupancy used to stop sliding pieces
+     * @return the bitboard of attacked squares
      */
-    private Position findKing(boolean isWhite) {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = squares[row][col];
-                if (piece instanceof King && piece.isWhite() == isWhite) {
-                    return piece.getPosition();
+    private static long attacksFrom(int type, int square, long occupied) {
+        switch (type) {
+            case Piece.KNIGHT:
+                return AttackTables.knightAttacks(square);
+            case Piece.BISHOP:
+                return AttackTables.bishopAttacks(square, occupied);
+            case Piece.ROOK:
+                return AttackTables.rookAttacks(square, occupied);
+            default:
+                return AttackTables.queenAttacks(square, occupied);
+        }
+    }
+
+    /**
+     * Finds the pieces of one color pinned against their own king.
+     * 
+     * @param isWhite the color of the king
+     * @param kingSquare the king's square index
+     * @return the bitboard of pinned pieces
+     */
+    private long pinnedPieces(boolean isWhite, int kingSquare) {
+        long queens = getPieceBitboard(Piece.QUEEN, !isWhite);
+        long snipers = (AttackTables.rookAttacks(kingSquare, 0) & (getPieceBitboard(Piece.ROOK, !isWhite) | queens))
+                | (AttackTables.bishopAttacks(kingSquare, 0) & (getPieceBitboard(Piece.BISHOP, !isWhite) | queens));
+        long pinned = 0;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = AttackTables.between(kingSquare, Bitboard.first(snipers)) & occupancy;
+            if (Bitboard.count(blockers) == 1) {
+                pinned |= blockers & getOccupancy(isWhite);
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Appends the pushes and captures of one pawn that land on allowed
+     * squares. Pushes onto the last row promote and count as captures.
+     * 
+     * @param from the pawn's square index
+     * @param isWhite the pawn's color
+     * @param enemy the bitboard of enemy pieces
+     * @param allowed the squares the pawn may move to
+     * @param kinds the kinds of moves to generate
+     * @param moves the buffer to append the moves to
+     */
+    private void addPawnMoves(int from, boolean isWhite, long enemy, long allowed, int kinds, MoveList moves) {
+        long push = AttackTables.pawnPushes(from, isWhite) & ~occupancy;
+        if (push != 0) {
+            int to = Bitboard.first(push);
+            boolean promotion = Bitboard.row(to) == 0 || Bitboard.row(to) == 7;
+            if ((allowed & push) != 0 && (kinds & (promotion ? GENERATE_CAPTURES : GENERATE_QUIETS)) != 0) {
+                addPawnMove(from, to, false, moves);
+            }
+            if ((kinds & GENERATE_QUIETS) != 0 && Bitboard.row(from) == (isWhite ? 6 : 1)) {
+                long doublePush = AttackTables.pawnPushes(to, isWhite) & ~occupancy & allowed;
+                if (doublePush != 0) {
+                    moves.add(Move.encode(from, Bitboard.first(doublePush), Move.DOUBLE_PAWN_PUSH));
                 }
             }
         }
-        return null;
+        if ((kinds & GENERATE_CAPTURES) == 0) {
+            return;
+        }
+        for (long captures = AttackTables.pawnAttacks(from, isWhite) & enemy & allowed; captures != 0; captures &= captures - 1) {
+            addPawnMove(from, Bitboard.first(captures), true, moves);
+        }
+    }
+
+    /**
+     * Appends a single pawn move, expanding it into one move per promotion
+     * piece when it reaches the last row.
+     * 
+     * @param from the starting square index
+     * @param to the destination square index
+     * @param capture true if the move captures a piece
+     * @param moves the buffer to append the moves to
+     */
+    private static void addPawnMove(int from, int to, boolean capture, MoveList moves) {
+        int row = Bitboard.row(to);
+        if (row == 0 || row == 7) {
+            for (int type = Piece.QUEEN; type >= Piece.KNIGHT; type--) {
+                moves.add(Move.encodePromotion(from, to, type, capture));
+            }
+        } else {
+            moves.add(Move.encode(from, to, capture ? Move.CAPTURE : Move.QUIET));
+        }
+    }
+
+    /**
+     * Appends the legal en passant captures. Each is checked by looking for
+     * attacks on the king with both pawns moved, which also covers a capture
+     * that would expose the king along the row.
+     * 
+     * @param isWhite the capturing color
+     * @param kingSquare the capturing side's king square
+     * @param fromMask the squares of the pawns that may capture
+     * @param moves the buffer to append the moves to
+     */
+    private void addEnPassantMoves(boolean isWhite, int kingSquare, long fromMask, MoveList moves) {
+        int victim = enPassantVictim(enPassantSquare, isWhite);
+        long capturers = AttackTables.pawnAttacks(enPassantSquare, !isWhite) & getPieceBitboard(Piece.PAWN, isWhite) & fromMask;
+        for (; capturers != 0; capturers &= capturers - 1) {
+            int from = Bitboard.first(capturers);
+            long after = (occupancy ^ Bitboard.bit(from) ^ Bitboard.bit(victim)) | Bitboard.bit(enPassantSquare);
+            if ((attackersTo(kingSquare, !isWhite, after) & ~Bitboard.bit(victim)) == 0) {
+                moves.add(Move.encode(from, enPassantSquare, Move.EN_PASSANT));
+            }
+        }
+    }
+
+    /**
+     * Appends the castling moves still available to a king that is not in
+     * check. The squares between king and rook must be empty and the king
+     * may not pass through or land on an attacked square.
+     * 
+     * @param isWhite the castling color
+     * @param kingSquare the king's square index
+     * @param moves the buffer to append the moves to
+     */
+    private void addCastlingMoves(boolean isWhite, int kingSquare, MoveList moves) {
+        int kingSide = isWhite ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        int queenSide = isWhite ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        
+        if ((castlingRights & kingSide) != 0
+                && (occupancy & (Bitboard.bit(kingSquare + 1) | Bitboard.bit(kingSquare + 2))) == 0
+                && !isSquareAttacked(kingSquare + 1, !isWhite)
+                && !isSquareAttacked(kingSquare + 2, !isWhite)) {
+            moves.add(Move.encode(kingSquare, kingSquare + 2, Move.KING_CASTLE));
+        }
+        if ((castlingRights & queenSide) != 0
+                && (occupancy & (Bitboard.bit(kingSquare - 1) | Bitboard.bit(kingSquare - 2) | Bitboard.bit(kingSquare - 3))) == 0
+                && !isSquareAttacked(kingSquare - 1, !isWhite)
+                && !isSquareAttacked(kingSquare - 2, !isWhite)) {
+            moves.add(Move.encode(kingSquare, kingSquare - 2, Move.QUEEN_CASTLE));
+        }
+    }
+
+    /**
+     * Checks if a move between two positions is legal for the piece on the
+     * starting square. Promotions are legal for any promotion piece.
+     * 
+     * @param from the starting position
+     * @param to the destination position
+     * @return true if the move is legal, false otherwise
+     */
+    public boolean isLegalMove(Position from, Position to) {
+        int fromSquare = Bitboard.square(from);
+        int toSquare = Bitboard.square(to);
+        if (mailbox[fromSquare] == EMPTY) {
+            return false;
+        }
+        moveBuffer.clear();
+        generateLegalMoves(isWhite(mailbox[fromSquare]), moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            int move = moveBuffer.get(i);
+            if (Move.from(move) == fromSquare && Move.to(move) == toSquare) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a given color has at least one legal move.
+     * 
+     * @param isWhite true for white, false for black
+     * @return true if the color can move, false otherwise
+     */
+    public boolean hasLegalMoves(boolean isWhite) {
+        moveBuffer.clear();
+        generateLegalMoves(isWhite, moveBuffer);
+        return !moveBuffer.isEmpty();
+    }
+
+    /**
+     * Checks if a given color is in checkmate.
+     * 
+     * @param isWhite true if checking white, false if checking black
+     * @return true if the color is in checkmate, false otherwise
+     */
+    public boolean isCheckmate(boolean isWhite) {
+        return isCheck(isWhite) && !hasLegalMoves(isWhite);
+    }
+
+    /**
+     * Checks if a given color is stalemated: not in check but without any
+     * legal move.
+     * 
+     * @param isWhite true if checking white, false if checking black
+     * @return true if the color is stalemated, false otherwise
+     */
+    public boolean isStalemate(boolean isWhite) {
+        return !isCheck(isWhite) && !hasLegalMoves(isWhite);
+    }
+
+    /**
+     * Gets the square of the king of the specified color.
+     * The square is cached and kept up to date as pieces move.
+     * 
+     * @param isWhite true for the white king, false for the black king
+     * @return the king's square index, or -1 if there is no such king
+     */
+    public int getKingSquare(boolean isWhite) {
+        return kingSquares[isWhite ? 0 : 1];
     }
 
     /**
@@ -196,7 +1522,7 @@ public class Board {
         for (int row = 0; row < 8; row++) {
             System.out.print((8 - row) + " |");
             for (int col = 0; col < 8; col++) {
-                Piece piece = squares[row][col];
+                Piece piece = getPiece(Position.of(row, col));
                 if (piece == null) {
                     // Check if this is a dark square (sum of row and col is odd)
                     if ((row + col) % 2 == 1) {
@@ -216,41 +1542,92 @@ public class Board {
     }
 
     /**
-     * Gets the list of captured pieces.
+     * Gets the pieces captured by the moves on the undo stack, in the order
+     * they were taken. The list is built from the undo stack on each call,
+     * so it follows {@link #makeMove} and {@link #unmakeMove()} and is empty
+     * after {@link #loadFen} or for a {@link #copy()}.
      * 
-     * @return the list of captured pieces
+     * @return a new list of the captured pieces, each on the square it was taken on
      */
     public List<Piece> getCapturedPieces() {
-        return capturedPieces;
+        List<Piece> captured = new ArrayList<>();
+        for (int i = 0; i < undoSize; i++) {
+            int code = undoCaptured[i];
+            if (code != EMPTY) {
+                int to = Move.to(undoMoves[i]);
+                int square = Move.isEnPassant(undoMoves[i]) ? enPassantVictim(to, !isWhite(code)) : to;
+                Piece piece = Piece.create(typeOf(code), isWhite(code), Position.of(square));
+                piece.setHasMoved(true);
+                captured.add(piece);
+            }
+        }
+        return captured;
     }
 
     /**
      * Gets the squares array for validation purposes.
+     * The array is built from the mailbox on first use and rebuilt after the
+     * board changes. It must be treated as read-only; use {@link #setPiece}
+     * to change a square so the board stays in sync.
      * 
      * @return the 8x8 array of pieces
      */
     public Piece[][] getSquares() {
+        if (squares == null) {
+            Piece[][] view = new Piece[8][8];
+            for (long pieces = occupancy; pieces != 0; pieces &= pieces - 1) {
+                int square = Bitboard.first(pieces);
+                Piece piece = Piece.create(typeOf(mailbox[square]), isWhite(mailbox[square]), Position.of(square));
+                piece.setHasMoved((movedPieces & Bitboard.bit(square)) != 0);
+                view[Bitboard.row(square)][Bitboard.column(square)] = piece;
+            }
+            squares = view;
+        }
         return squares;
     }
 
     /**
-     * Creates a deep copy of the board.
+     * Creates a copy of the board.
+     * Only the primitive position state is copied, so no pieces are
+     * created. The copy starts with an empty undo stack.
      * 
-     * @return a new Board instance with copied pieces
+     * @return a new Board instance holding the same position
      */
     public Board copy() {
-        Board copy = new Board();
-        copy.squares = new Piece[8][8];
-        copy.capturedPieces = new ArrayList<>(this.capturedPieces);
-        
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                if (squares[row][col] != null) {
-                    copy.squares[row][col] = squares[row][col].copy();
-                }
-            }
+        return new Board(this);
+    }
+
+    /**
+     * Replaces the position on this board with another board's, reusing
+     * this board's arrays. Unlike {@link #copy()}, the undo stack is copied
+     * too, so the moves that led to the position can still be taken back.
+     * 
+     * @param source the board to copy
+     */
+    public void copyFrom(Board source) {
+        System.arraycopy(source.mailbox, 0, mailbox, 0, 64);
+        squares = null;
+        System.arraycopy(source.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(source.colorOccupancy, 0, colorOccupancy, 0, colorOccupancy.length);
+        occupancy = source.occupancy;
+        movedPieces = source.movedPieces;
+        System.arraycopy(source.kingSquares, 0, kingSquares, 0, kingSquares.length);
+        whiteToMove = source.whiteToMove;
+        castlingRights = source.castlingRights;
+        enPassantSquare = source.enPassantSquare;
+        halfmoveClock = source.halfmoveClock;
+        fullmoveNumber = source.fullmoveNumber;
+        hash = source.hash;
+        pawnHash = source.pawnHash;
+        pieceSquareScore = source.pieceSquareScore;
+        while (undoMoves.length < source.undoSize) {
+            growUndoStack();
         }
-        
-        return copy;
+        undoSize = source.undoSize;
+        System.arraycopy(source.undoMoves, 0, undoMoves, 0, undoSize);
+        System.arraycopy(source.undoFlags, 0, undoFlags, 0, undoSize);
+        System.arraycopy(source.undoCaptured, 0, undoCaptured, 0, undoSize);
+        System.arraycopy(source.undoMovedPieces, 0, undoMovedPieces, 0, undoSize);
+        System.arraycopy(source.undoHashes, 0, undoHashes, 0, undoSize);
     }
 }
@@ -3,33 +3,75 @@ package board;
 /**
  * Represents a position on the chessboard using row and column coordinates.
  * 
+ * <p>Positions are immutable and there is exactly one instance per square,
+ * obtained through the {@code of} factory methods, so positions can be
+ * compared with {@code ==} and are never allocated during play.
+ * 
  * @author Chess Game
  * @version 1.0
  */
-public class Position {
-    private int row;
-    private int column;
+public final class Position {
+    private static final Position[] CACHE = new Position[64];
+
+    static {
+        for (int index = 0; index < CACHE.length; index++) {
+            CACHE[index] = new Position(index >>> 3, index & 7);
+        }
+    }
+
+    private final int row;
+    private final int column;
+    private final int index;
+
+    /**
+     * Constructor for Position class, used only to fill the cache.
+     * 
+     * @param row the row coordinate (0-7, where 0 is rank 8 and 7 is rank 1)
+     * @param column the column coordinate (0-7, where 0 is file A and 7 is file H)
+     */
+    private Position(int row, int column) {
+        this.row = row;
+        this.column = column;
+        this.index = row * 8 + column;
+    }
 
     /**
-     * Constructor for Position class.
+     * Gets the position at row and column coordinates.
      * 
      * @param row the row coordinate (0-7, where 0 is rank 8 and 7 is rank 1)
      * @param column the column coordinate (0-7, where 0 is file A and 7 is file H)
+     * @return the position
+     * @throws IllegalArgumentException if a coordinate is out of range
      */
-    public Position(int row, int column) {
+    public static Position of(int row, int column) {
         if (row < 0 || row > 7 || column < 0 || column > 7) {
             throw new IllegalArgumentException("Row and column must be between 0 and 7");
         }
-        this.row = row;
-        this.column = column;
+        return CACHE[row * 8 + column];
     }
 
     /**
-     * Constructor for Position class using algebraic notation (e.g., "E4").
+     * Gets the position for a square index ({@code row * 8 + column}).
+     * 
+     * @param index the square index (0-63)
+     * @return the position
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static Position of(int index) {
+        if (index < 0 || index > 63) {
+            throw new IllegalArgumentException("Square index must be between 0 and 63");
+        }
+        return CACHE[index];
+    }
+
+    /**
+     * Gets the position for algebraic notation (e.g., "E4").
      * 
      * @param algebraicNotation the position in algebraic notation
+     * @return the position
+     * @throws IllegalArgumentException if the notation is invalid
      */
-    public Position(String algebraicNotation) {
+    public static Position of(String algebraicNotation) {
         if (algebraicNotation == null || algebraicNotation.length() != 2) {
             throw new IllegalArgumentException("Algebraic notation must be 2 characters (e.g., 'E4')");
         }
@@ -41,13 +83,12 @@ public class Position {
         if (file < 'A' || file > 'H') {
             throw new IllegalArgumentException("File must be between A and H");
         }
-        this.column = file - 'A';
         
         // Convert rank (1-8) to row (0-7)
         if (rank < '1' || rank > '8') {
             throw new IllegalArgumentException("Rank must be between 1 and 8");
         }
-        this.row = 8 - (rank - '0'); // Convert to 0-based indexing
+        return CACHE[(8 - (rank - '0')) * 8 + (file - 'A')];
     }
 
     /**
@@ -68,6 +109,15 @@ public class Position {
         return column;
     }
 
+    /**
+     * Gets the square index of this position.
+     * 
+     * @return the square index ({@code row * 8 + column}, 0-63)
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Converts the position to algebraic notation.
      * 
@@ -81,26 +131,24 @@ public class Position {
 
     /**
      * Checks if this position is equal to another position.
+     * There is one instance per square, so this is an identity check.
      * 
      * @param obj the object to compare
      * @return true if the positions are equal, false otherwise
      */
     @Override
     public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        Position position = (Position) obj;
-        return row == position.row && column == position.column;
+        return this == obj;
     }
 
     /**
      * Generates a hash code for this position.
      * 
-     * @return the hash code
+     * @return the square index
      */
     @Override
     public int hashCode() {
-        return row * 8 + column;
+        return index;
     }
 
     /**
@@ -0,0 +1,88 @@
+package board;
+
+import pieces.Piece;
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing of board positions.
+ * A position's hash is the XOR of one key per piece on its square, plus keys
+ * for the side to move, the castling rights and the en passant file, so a
+ * move changes the hash by XOR-ing only the keys it touches.
+ * The keys come from a fixed seed, so hashes are stable between runs.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5EEDC0FFEEL;
+
+    private static final long[][] PIECE_KEYS = new long[2 * Piece.TYPE_COUNT][64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] keys : PIECE_KEYS) {
+            for (int square = 0; square < 64; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        // No castling rights hashes to zero so the key only changes when rights do
+        for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Zobrist() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Gets the key for a piece standing on a square.
+     * 
+     * @param type the piece type index
+     * @param isWhite the piece color
+     * @param square the square index
+     * @return the piece-square key
+     */
+    public static long piece(int type, boolean isWhite, int square) {
+        return PIECE_KEYS[isWhite ? type : Piece.TYPE_COUNT + type][square];
+    }
+
+    /**
+     * Gets the key for a set of castling rights.
+     * 
+     * @param rights the castling rights bit set (see {@link Board#getCastlingRights()})
+     * @return the castling key, zero when no rights remain
+     */
+    public static long castling(int rights) {
+        return CASTLING_KEYS[rights];
+    }
+
+    /**
+     * Gets the key for an en passant square.
+     * 
+     * @param square the en passant square index, or -1 if there is none
+     * @return the key for the square's file, or zero if there is none
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0 : EN_PASSANT_KEYS[Bitboard.column(square)];
+    }
+
+    /**
+     * Gets the key XOR-ed in when black is to move.
+     * 
+     * @return the side-to-move key
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE_KEY;
+    }
+}
@@ -0,0 +1,200 @@
+package engine;
+
+import board.Board;
+import pieces.Piece;
+import pieces.PieceSquareTables;
+
+/**
+ * Static evaluation of a position for the search.
+ * Scores are in centipawns from the point of view of the side to move.
+ * 
+ * <p>The evaluation is material plus piece-square values (see
+ * {@link PieceSquareTables}) plus pawn structure: doubled and isolated pawns
+ * are penalised and passed pawns earn a bonus that grows as they advance.
+ * Every term has a middlegame and an endgame value, blended by how much
+ * material is left, so that for example passed pawns count for more once
+ * the pieces come off.
+ * 
+ * <p>The board keeps the piece-square sum up to date on every move, so
+ * reading it is a single field access. Pawn structure only changes when a
+ * pawn moves or is captured, so its score is cached in a
+ * {@link PawnHashTable} under the board's pawn-only hash and recomputed only
+ * for pawn structures not seen before. {@link #evaluateFromScratch(Board)}
+ * works out everything directly, to check the incremental and cached values.
+ * 
+ * <p>An evaluator holds its own pawn hash table and is not thread-safe; each
+ * search thread needs its own.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class Evaluator {
+    /** Material value of each piece type in centipawns, indexed by type. */
+    public static final int[] PIECE_VALUES = PieceSquareTables.PIECE_VALUES;
+    /** Pawn hash table size used when none is given, in megabytes. */
+    public static final int DEFAULT_PAWN_HASH_MEGABYTES = 1;
+
+    // Pawn structure terms, packed middlegame and endgame values
+    private static final int DOUBLED_PAWN = PieceSquareTables.score(-10, -20);
+    private static final int ISOLATED_PAWN = PieceSquareTables.score(-10, -15);
+    // Passed pawn bonus by the number of rows the pawn has advanced
+    private static final int[] PASSED_PAWN = {
+        0,
+        PieceSquareTables.score(5, 10),
+        PieceSquareTables.score(5, 15),
+        PieceSquareTables.score(10, 25),
+        PieceSquareTables.score(20, 45),
+        PieceSquareTables.score(35, 75),
+        PieceSquareTables.score(55, 120),
+        0
+    };
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    // Squares in front of a pawn on its own and the adjacent files, where an
+    // enemy pawn could stop it, indexed by [side][square]
+    private static final long[][] PASSED_MASKS = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = FILE_A << file;
+        }
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0) | (file < 7 ? FILES[file + 1] : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            int row = square >>> 3;
+            long span = FILES[square & 7] | ADJACENT_FILES[square & 7];
+            // White pawns move towards row 0, black pawns towards row 7
+            long rowsAbove = row == 0 ? 0 : -1L >>> (64 - 8 * row);
+            long rowsBelow = row == 7 ? 0 : -1L << (8 * (row + 1));
+            PASSED_MASKS[0][square] = span & rowsAbove;
+            PASSED_MASKS[1][square] = span & rowsBelow;
+        }
+    }
+
+    private final PawnHashTable pawnTable;
+
+    /**
+     * Constructor for Evaluator class with a pawn hash table of the default
+     * size.
+     */
+    public Evaluator() {
+        this(DEFAULT_PAWN_HASH_MEGABYTES);
+    }
+
+    /**
+     * Constructor for Evaluator class.
+     * 
+     * @param pawnHashMegabytes the pawn hash table size in megabytes
+     */
+    public Evaluator(int pawnHashMegabytes) {
+        this.pawnTable = new PawnHashTable(pawnHashMegabytes);
+    }
+
+    /**
+     * Evaluates a position from the board's incrementally kept score and
+     * the cached pawn structure score.
+     * 
+     * @param board the position to evaluate
+     * @return the score in centipawns for the side to move
+     */
+    public int evaluate(Board board) {
+        long pawnHash = board.getPawnHash();
+        int pawnScore = pawnTable.probe(pawnHash);
+        if (pawnScore == PawnHashTable.NO_ENTRY) {
+            pawnScore = evaluatePawns(board);
+            pawnTable.store(pawnHash, pawnScore);
+        }
+        int score = PieceSquareTables.taper(board.getPieceSquareScore() + pawnScore, phase(board));
+        return board.isWhiteToMove() ? score : -score;
+    }
+
+    /**
+     * Evaluates a position by summing the value of every piece and working
+     * out the pawn structure, without the pawn hash table. Gives the same
+     * score as {@link #evaluate(Board)}, only slower.
+     * 
+     * @param board the position to evaluate
+     * @return the score in centipawns for the side to move
+     */
+    public int evaluateFromScratch(Board board) {
+        int score = PieceSquareTables.taper(board.computePieceSquareScore() + evaluatePawns(board), phase(board));
+        return board.isWhiteToMove() ? score : -score;
+    }
+
+    /**
+     * Gets the game phase of a position from the pieces left on the board.
+     * 
+     * @param board the position
+     * @return the phase, from 0 to {@link PieceSquareTables#MAX_PHASE}
+     */
+    private static int phase(Board board) {
+        return PieceSquareTables.phase(
+                count(board, Piece.KNIGHT), count(board, Piece.BISHOP),
+                count(board, Piece.ROOK), count(board, Piece.QUEEN));
+    }
+
+    /**
+     * Counts the pieces of a type of both colors.
+     * 
+     * @param board the position
+     * @param type the piece type index
+     * @return the number of pieces
+     */
+    private static int count(Board board, int type) {
+        return Long.bitCount(board.getPieceBitboard(type, true) | board.getPieceBitboard(type, false));
+    }
+
+    /**
+     * Scores the pawn structure of a position: doubled, isolated and passed
+     * pawns of both colors.
+     * 
+     * @param board the position
+     * @return the packed score from white's point of view
+     */
+    private static int evaluatePawns(Board board) {
+        long whitePawns = board.getPieceBitboard(Piece.PAWN, true);
+        long blackPawns = board.getPieceBitboard(Piece.PAWN, false);
+        return evaluatePawns(whitePawns, blackPawns, 0) - evaluatePawns(blackPawns, whitePawns, 1);
+    }
+
+    /**
+     * Scores the pawn structure of one side.
+     * 
+     * @param pawns the side's pawns
+     * @param enemyPawns the opponent's pawns
+     * @param side 0 for white, 1 for black
+     * @return the packed score from that side's point of view
+     */
+    private static int evaluatePawns(long pawns, long enemyPawns, int side) {
+        int score = 0;
+        for (int file = 0; file < 8; file++) {
+            int count = Long.bitCount(pawns & FILES[file]);
+            if (count > 1) {
+                score += (count - 1) * DOUBLED_PAWN;
+            }
+            if (count > 0 && (pawns & ADJACENT_FILES[file]) == 0) {
+                score += count * ISOLATED_PAWN;
+            }
+        }
+        for (long remaining = pawns; remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            if ((enemyPawns & PASSED_MASKS[side][square]) == 0) {
+                int row = square >>> 3;
+                score += PASSED_PAWN[side == 0 ? 7 - row : row];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Gets the pawn hash table of this evaluator.
+     * 
+     * @return the pawn hash table
+     */
+    public PawnHashTable getPawnTable() {
+        return pawnTable;
+    }
+}
@@ -0,0 +1,121 @@
+package engine;
+
+import java.util.Arrays;
+import pieces.Move;
+
+/**
+ * Quiet move statistics a search gathers to order its moves: killer moves
+ * and the history table.
+ * 
+ * <p>Killer moves are the last two quiet moves that caused a beta cutoff at
+ * each ply. Sibling positions at the same ply often share a refutation, so
+ * they are tried right after the captures. The history table counts, per
+ * color and from and to square, how much quiet moves have caused cutoffs
+ * anywhere in the tree, weighted by the square of the remaining depth, and
+ * orders the remaining quiet moves.
+ * 
+ * <p>Both are kept in primitive arrays: two killer slots per ply and one
+ * counter per color, starting square and destination square.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class MoveHistory {
+    // History scores are halved when one passes this, keeping them in range
+    // and letting recent cutoffs outweigh old ones
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final int[] killers;
+    private final int[] history;
+
+    /**
+     * Constructor for MoveHistory class.
+     * 
+     * @param maxPly the deepest ply that killer moves are kept for
+     */
+    public MoveHistory(int maxPly) {
+        this.killers = new int[(maxPly + 1) * 2];
+        this.history = new int[2 * 64 * 64];
+    }
+
+    /**
+     * Gets a killer move of a ply.
+     * 
+     * @param ply the distance from the root
+     * @param slot 0 for the most recent killer, 1 for the one before
+     * @return the packed move, or {@link Move#NONE}
+     */
+    public int getKiller(int ply, int slot) {
+        return killers[ply * 2 + slot];
+    }
+
+    /**
+     * Gets the history score of a quiet move.
+     * 
+     * @param isWhite the color making the move
+     * @param move the packed move
+     * @return the history score, higher for moves that cut off more often
+     */
+    public int getHistory(boolean isWhite, int move) {
+        return history[index(isWhite, move)];
+    }
+
+    /**
+     * Records a quiet move that caused a beta cutoff: it becomes the first
+     * killer of its ply and its history score grows.
+     * 
+     * @param isWhite the color that made the move
+     * @param move the packed move
+     * @param ply the distance from the root
+     * @param depth the remaining depth of the node
+     */
+    public void recordCutoff(boolean isWhite, int move, int ply, int depth) {
+        int slot = ply * 2;
+        if (killers[slot] != move) {
+            killers[slot + 1] = killers[slot];
+            killers[slot] = move;
+        }
+        int index = index(isWhite, move);
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            age();
+        }
+    }
+
+    /**
+     * Prepares for a new search: killers from the previous position no
+     * longer apply, and history scores are halved so that they adapt.
+     */
+    public void newSearch() {
+        Arrays.fill(killers, Move.NONE);
+        age();
+    }
+
+    /**
+     * Removes all killers and history scores.
+     */
+    public void clear() {
+        Arrays.fill(killers, Move.NONE);
+        Arrays.fill(history, 0);
+    }
+
+    /**
+     * Halves every history score.
+     */
+    private void age() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Gets the history table index of a move.
+     * 
+     * @param isWhite the color making the move
+     * @param move the packed move
+     * @return the index
+     */
+    private static int index(boolean isWhite, int move) {
+        return (isWhite ? 0 : 64 * 64) + Move.from(move) * 64 + Move.to(move);
+    }
+}
@@ -0,0 +1,231 @@
+package engine;
+
+import board.Board;
+import pieces.Move;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * Hands out the moves of one search node one at a time, best candidates
+ * first, doing as little work as possible before a cutoff.
+ * 
+ * <p>The moves come in stages:
+ * <ol>
+ *   <li>the move from the transposition table, checked for legality but
+ *       tried before anything is generated;</li>
+ *   <li>captures and promotions, most valuable victim first and, among
+ *       those, least valuable attacker first (MVV-LVA);</li>
+ *   <li>the killer moves of the ply (see {@link MoveHistory});</li>
+ *   <li>the remaining quiet moves, by history score.</li>
+ * </ol>
+ * Quiet moves are only generated once every capture has been tried, and a
+ * stage is never sorted up front: each call picks the best remaining move
+ * with one pass over the list, so a node that cuts off after a few moves
+ * pays only for those.
+ * 
+ * <p>For the quiescence search the picker hands out only the captures and
+ * promotions, and can skip those that the static exchange evaluation (see
+ * {@link StaticExchange}) shows to lose material.
+ * 
+ * <p>A picker belongs to one ply of one search and is reused for every
+ * node at that ply.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class MovePicker {
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int CAPTURES = 2;
+    private static final int FIRST_KILLER = 3;
+    private static final int SECOND_KILLER = 4;
+    private static final int GENERATE_QUIETS = 5;
+    private static final int QUIETS = 6;
+    private static final int DONE = 7;
+
+    // Promotion to a queen comes before any capture; the others after all
+    private static final int QUEEN_PROMOTION_BONUS = 64;
+    private static final int UNDERPROMOTION_PENALTY = -64;
+
+    private final Board board;
+    private final MoveHistory history;
+    private final MoveList moves;
+    private final int[] scores;
+    private final int[] exchangeGains;
+    private int stage;
+    private int index;
+    private int ply;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private boolean capturesOnly;
+    private boolean skipLosingCaptures;
+
+    /**
+     * Constructor for MovePicker class.
+     * 
+     * @param board the board of the search
+     * @param history the killers and history scores of the search
+     */
+    public MovePicker(Board board, MoveHistory history) {
+        this.board = board;
+        this.history = history;
+        this.moves = new MoveList();
+        this.scores = new int[MoveList.DEFAULT_CAPACITY];
+        this.exchangeGains = new int[StaticExchange.MAX_CAPTURES];
+        this.stage = DONE;
+    }
+
+    /**
+     * Starts handing out the moves of the current position.
+     * 
+     * @param hashMove the move from the transposition table, or {@link Move#NONE};
+     *                 it may come from a hash collision and need not be legal
+     * @param ply the distance from the root, for the killer moves
+     */
+    public void reset(int hashMove, int ply) {
+        this.hashMove = hashMove;
+        this.ply = ply;
+        this.firstKiller = Move.NONE;
+        this.secondKiller = Move.NONE;
+        this.capturesOnly = false;
+        this.skipLosingCaptures = false;
+        this.stage = HASH_MOVE;
+    }
+
+    /**
+     * Starts handing out only the captures and promotions of the current
+     * position, for the quiescence search.
+     * 
+     * @param skipLosingCaptures true to leave out captures that lose material
+     *                           in the static exchange evaluation
+     */
+    public void resetCaptures(boolean skipLosingCaptures) {
+        this.hashMove = Move.NONE;
+        this.capturesOnly = true;
+        this.skipLosingCaptures = skipLosingCaptures;
+        this.stage = GENERATE_CAPTURES;
+    }
+
+    /**
+     * Gets the next move to try. Each stage runs once and moves on to the
+     * next when it has nothing left.
+     * 
+     * @return the packed move, or {@link Move#NONE} when every legal move
+     *         has been handed out
+     */
+    public int next() {
+        if (stage == HASH_MOVE) {
+            stage = GENERATE_CAPTURES;
+            if (hashMove != Move.NONE && board.isLegalMove(hashMove)) {
+                return hashMove;
+            }
+            hashMove = Move.NONE;
+        }
+        if (stage == GENERATE_CAPTURES) {
+            moves.clear();
+            board.generateCaptures(board.isWhiteToMove(), moves);
+            for (int i = 0; i < moves.size(); i++) {
+                scores[i] = captureScore(moves.get(i));
+            }
+            index = 0;
+            stage = CAPTURES;
+        }
+        if (stage == CAPTURES) {
+            while (index < moves.size()) {
+                int move = pickBest();
+                if (move != hashMove && !(skipLosingCaptures && StaticExchange.evaluate(board, move, exchangeGains) < 0)) {
+                    return move;
+                }
+            }
+            stage = capturesOnly ? DONE : FIRST_KILLER;
+        }
+        if (stage == FIRST_KILLER) {
+            stage = SECOND_KILLER;
+            firstKiller = history.getKiller(ply, 0);
+            if (isUsableKiller(firstKiller)) {
+                return firstKiller;
+            }
+        }
+        if (stage == SECOND_KILLER) {
+            stage = GENERATE_QUIETS;
+            secondKiller = history.getKiller(ply, 1);
+            if (isUsableKiller(secondKiller)) {
+                return secondKiller;
+            }
+        }
+        if (stage == GENERATE_QUIETS) {
+            boolean white = board.isWhiteToMove();
+            moves.clear();
+            board.generateQuietMoves(white, moves);
+            for (int i = 0; i < moves.size(); i++) {
+                scores[i] = history.getHistory(white, moves.get(i));
+            }
+            index = 0;
+            stage = QUIETS;
+        }
+        if (stage == QUIETS) {
+            while (index < moves.size()) {
+                int move = pickBest();
+                if (move != hashMove && move != firstKiller && move != secondKiller) {
+                    return move;
+                }
+            }
+            stage = DONE;
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Checks if a killer move can be tried here: it must not repeat the hash
+     * move and must be a legal quiet move in this position.
+     * 
+     * @param killer the killer move
+     * @return true if the killer should be tried
+     */
+    private boolean isUsableKiller(int killer) {
+        return killer != Move.NONE && killer != hashMove && board.isLegalMove(killer);
+    }
+
+    /**
+     * Moves the best scored of the moves not yet handed out to the front of
+     * the remaining ones and hands it out.
+     * 
+     * @return the packed move
+     */
+    private int pickBest() {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        if (best != index) {
+            scores[best] = scores[index];
+            moves.set(best, moves.get(index));
+        }
+        index++;
+        return move;
+    }
+
+    /**
+     * Scores a capture or promotion by MVV-LVA: the captured piece's type
+     * counts far more than the capturing piece's, so that every capture of
+     * a queen comes before any capture of a rook, and a pawn taking a piece
+     * before a queen taking the same piece.
+     * 
+     * @param move the packed move
+     * @return the ordering score, higher for moves to try first
+     */
+    private int captureScore(int move) {
+        int victim = Move.isEnPassant(move) ? Piece.PAWN : board.getPieceType(Move.to(move));
+        int attacker = board.getPieceType(Move.from(move));
+        // A promotion without a capture has no victim and scores below every capture
+        int score = (victim + 1) * Piece.TYPE_COUNT - attacker;
+        if (Move.isPromotion(move)) {
+            score += Move.promotionType(move) == Piece.QUEEN ? QUEEN_PROMOTION_BONUS : UNDERPROMOTION_PENALTY;
+        }
+        return score;
+    }
+}
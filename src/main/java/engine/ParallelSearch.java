@@ -0,0 +1,179 @@
+package engine;
+
+import board.Board;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-threaded search using the Lazy SMP scheme.
+ * 
+ * <p>Every worker runs an ordinary {@link Search} on its own copy of the
+ * board, so no {@link Board} or piece object is shared between threads.
+ * The workers, their boards and their move ordering statistics are created
+ * once and kept between searches: each search copies the position onto the
+ * worker boards, and the killer and history tables carry over, aged. The
+ * workers only share the lock-free {@link TranspositionTable}: results found
+ * by one thread cut off and order the search of the others. Helper threads
+ * start their iterations at staggered depths so that they spread over
+ * different parts of the tree. The calling thread runs the main worker,
+ * whose result is returned; the helpers are stopped as soon as it finishes.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class ParallelSearch implements AutoCloseable {
+    private final TranspositionTable table;
+    private final int threads;
+    private final ExecutorService helpers;
+    private final Board[] boards;
+    private final Search[] workers;
+    private volatile boolean stopRequested;
+
+    /**
+     * Constructor for ParallelSearch class.
+     * 
+     * @param table the transposition table shared by all workers
+     * @param threads the number of worker threads, including the calling thread
+     * @throws IllegalArgumentException if the thread count is less than 1
+     */
+    public ParallelSearch(TranspositionTable table, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        this.table = table;
+        this.threads = threads;
+        this.boards = new Board[threads];
+        this.workers = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            boards[i] = Board.fromFen(Board.START_FEN);
+            workers[i] = new Search(boards[i], table, new Evaluator());
+        }
+        this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Searches a position with all worker threads.
+     * The board itself is left untouched; every worker searches a copy.
+     * 
+     * @param board the position to search
+     * @param maxDepth the deepest iteration to run, in plies
+     * @param timeLimitMillis the time budget in milliseconds, or 0 for no limit
+     * @return the main worker's result, with the node count of all workers
+     */
+    public SearchResult search(Board board, int maxDepth, long timeLimitMillis) {
+        long start = System.nanoTime();
+        stopRequested = false;
+        table.newSearch();
+        
+        for (int i = 0; i < threads; i++) {
+            boards[i].copyFrom(board);
+            workers[i].clearStop();
+        }
+        if (stopRequested) {
+            stopWorkers();
+        }
+        
+        Future<?>[] futures = new Future<?>[threads];
+        for (int i = 1; i < threads; i++) {
+            Search helper = workers[i];
+            int startDepth = 1 + i % 2;
+            futures[i] = helpers.submit(() -> helper.search(startDepth, maxDepth, timeLimitMillis));
+        }
+        
+        // Helpers may already be running, so time the main worker from the start
+        long mainOffset = System.nanoTime() - start;
+        long mainTimeLimit = timeLimitMillis > 0 ? Math.max(timeLimitMillis - mainOffset / 1000000, 1) : 0;
+        SearchResult result = workers[0].search(1, maxDepth, mainTimeLimit);
+        stopWorkers();
+        
+        long nodes = result.getNodes();
+        for (int i = 1; i < threads; i++) {
+            try {
+                futures[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+            nodes += workers[i].getNodes();
+        }
+        
+        long[] timeToDepth = new long[Search.MAX_PLY + 1];
+        for (int depth = 1; depth <= result.getDepth(); depth++) {
+            timeToDepth[depth] = mainOffset + result.getTimeToDepthNanos(depth);
+        }
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes,
+                System.nanoTime() - start, timeToDepth);
+    }
+
+    /**
+     * Asks a running search to stop as soon as possible. Safe to call from
+     * another thread.
+     */
+    public void stop() {
+        stopRequested = true;
+        stopWorkers();
+    }
+
+    /**
+     * Stops every worker.
+     */
+    private void stopWorkers() {
+        for (Search worker : workers) {
+            worker.stop();
+        }
+    }
+
+    /**
+     * Forgets the killer moves and history scores of every worker, for
+     * example at the start of a new game.
+     */
+    public void clearHistory() {
+        for (Search worker : workers) {
+            worker.clearHistory();
+        }
+    }
+
+    /**
+     * Gets the number of worker threads.
+     * 
+     * @return the thread count, including the calling thread
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the transposition table shared by the workers.
+     * 
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the pawn hash table of the main worker.
+     * 
+     * @return the pawn hash table
+     */
+    public PawnHashTable getPawnTable() {
+        return workers[0].getPawnTable();
+    }
+
+    /**
+     * Shuts down the helper threads.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size cache of pawn structure scores, keyed by the pawn-only hash of
+ * a position (see {@link board.Board#getPawnHash()}).
+ * 
+ * <p>Pawn structure changes only when a pawn moves or is captured, so most
+ * positions reached in a search share their pawns with one already
+ * evaluated. Each entry is the pawn hash in one array and the packed score
+ * (see {@link pieces.PieceSquareTables#score(int, int)}) in another; a new
+ * entry simply replaces the old one in its slot.
+ * 
+ * <p>The table is not thread-safe: every search thread has its own,
+ * through its own {@link Evaluator}.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class PawnHashTable {
+    /** Value returned by {@link #probe(long)} when the pawns are not stored. */
+    public static final int NO_ENTRY = Integer.MIN_VALUE;
+
+    private static final int ENTRY_BYTES = 12;
+
+    private final long[] keys;
+    private final int[] scores;
+    private final int mask;
+    private final int sizeMegabytes;
+    private long probes;
+    private long hits;
+
+    /**
+     * Constructor for PawnHashTable class.
+     * The entry count is rounded down to a power of two that fits the budget.
+     * 
+     * @param sizeMegabytes the memory budget in megabytes (at least 1)
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public PawnHashTable(int sizeMegabytes) {
+        if (sizeMegabytes < 1 || sizeMegabytes > 1024) {
+            throw new IllegalArgumentException("Pawn hash table size must be between 1 and 1024 MB");
+        }
+        int entries = (int) Long.highestOneBit(sizeMegabytes * 1024L * 1024L / ENTRY_BYTES);
+        this.keys = new long[entries];
+        this.scores = new int[entries];
+        this.mask = entries - 1;
+        this.sizeMegabytes = sizeMegabytes;
+    }
+
+    /**
+     * Looks up a pawn structure. An empty slot matches the pawn hash 0 of a
+     * position without pawns, whose score is 0 anyway.
+     * 
+     * @param pawnHash the pawn hash of the position
+     * @return the packed score, or {@link #NO_ENTRY} if the pawns are not stored
+     */
+    public int probe(long pawnHash) {
+        probes++;
+        int index = index(pawnHash);
+        if (keys[index] == pawnHash) {
+            hits++;
+            return scores[index];
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores the score of a pawn structure, replacing the entry in its slot.
+     * 
+     * @param pawnHash the pawn hash of the position
+     * @param score the packed score from white's point of view
+     */
+    public void store(long pawnHash, int score) {
+        int index = index(pawnHash);
+        keys[index] = pawnHash;
+        scores[index] = score;
+    }
+
+    /**
+     * Removes every entry and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(scores, 0);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Gets the slot index for a pawn hash.
+     * 
+     * @param pawnHash the pawn hash
+     * @return the slot index
+     */
+    private int index(long pawnHash) {
+        return (int) (pawnHash ^ (pawnHash >>> 32)) & mask;
+    }
+
+    /**
+     * Gets the memory budget the table was created with.
+     * 
+     * @return the size in megabytes
+     */
+    public int getSizeMegabytes() {
+        return sizeMegabytes;
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     * 
+     * @return the entry count
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the fraction of probes that found an entry.
+     * 
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /**
+     * Gets the number of probes made.
+     * 
+     * @return the probe count
+     */
+    public long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Returns a one-line summary of the table statistics.
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("pawn hash %dMB hits %.1f%% probes %d", sizeMegabytes, getHitRate() * 100, getProbes());
+    }
+}
@@ -0,0 +1,407 @@
+package engine;
+
+import board.Board;
+import pieces.Move;
+import pieces.MoveList;
+
+/**
+ * Iterative-deepening alpha-beta search in negamax form.
+ * The search runs on the given board with make/unmake and leaves it as it
+ * found it. Results are kept in a {@link TranspositionTable}, which cuts off
+ * positions already searched deeply enough and supplies the move to try
+ * first, so each iteration starts from the previous best move. The other
+ * moves are ordered by a {@link MovePicker}: captures by MVV-LVA, then the
+ * killer moves and the quiet moves by history score. At the end of the
+ * nominal depth a quiescence search plays out the captures, skipping those
+ * that lose material (see {@link StaticExchange}), so leaves are evaluated
+ * in quiet positions. A position that repeats one from the game or the
+ * current line, or that the fifty-move rule draws, scores as a draw, so
+ * the search neither steers into repetitions from a winning position nor
+ * misses them as a defence. The search stops at a depth limit, a time
+ * limit or a call to {@link #stop()}.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class Search {
+    /** Score of delivering mate at the root; mates further away score less. */
+    public static final int MATE_SCORE = 30000;
+    /** Deepest ply the search can reach. */
+    public static final int MAX_PLY = 128;
+
+    private static final int INFINITY = 32000;
+    // Nodes between checks of the clock
+    private static final int TIME_CHECK_INTERVAL = 2048;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private final Board board;
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final MoveHistory history;
+    private final MovePicker[] pickers;
+    private long nodes;
+    private long quiescenceNodes;
+    private boolean seePruning = true;
+    private long deadline;
+    private volatile boolean stopped;
+    private int rootBestMove;
+
+    /**
+     * Constructor for Search class with a small private transposition table.
+     * 
+     * @param board the board to search; it is restored after every search
+     */
+    public Search(Board board) {
+        this(board, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * Constructor for Search class.
+     * 
+     * @param board the board to search; it is restored after every search
+     * @param table the transposition table to use, which may be shared
+     */
+    public Search(Board board, TranspositionTable table) {
+        this(board, table, new Evaluator());
+    }
+
+    /**
+     * Constructor for Search class with a given evaluator, whose pawn hash
+     * table then carries over between searches.
+     * 
+     * @param board the board to search; it is restored after every search
+     * @param table the transposition table to use, which may be shared
+     * @param evaluator the evaluator, used by this search only while it runs
+     */
+    public Search(Board board, TranspositionTable table, Evaluator evaluator) {
+        this.board = board;
+        this.table = table;
+        this.evaluator = evaluator;
+        this.history = new MoveHistory(MAX_PLY);
+        this.pickers = new MovePicker[MAX_PLY + 1];
+        for (int i = 0; i < pickers.length; i++) {
+            pickers[i] = new MovePicker(board, history);
+        }
+    }
+
+    /**
+     * Searches the current position for the side to move.
+     * Call {@link TranspositionTable#newSearch()} first when the table is
+     * kept from an earlier search.
+     * 
+     * @param maxDepth the deepest iteration to run, in plies (1 to {@link #MAX_PLY})
+     * @param timeLimitMillis the time budget in milliseconds, or 0 for no limit
+     * @return the result of the deepest completed iteration, or the first
+     *         legal move at depth 0 if no iteration completed
+     */
+    public SearchResult search(int maxDepth, long timeLimitMillis) {
+        stopped = false;
+        return search(1, maxDepth, timeLimitMillis);
+    }
+
+    /**
+     * Searches the current position, starting the iterations at a given
+     * depth. Helper threads of a parallel search start at different depths
+     * so that they do not all search the same tree in step. Unlike
+     * {@link #search(int, long)} this does not clear an earlier
+     * {@link #stop()}, so a helper stopped before it starts returns at once.
+     * 
+     * @param startDepth the first iteration to run, in plies
+     * @param maxDepth the deepest iteration to run, in plies
+     * @param timeLimitMillis the time budget in milliseconds, or 0 for no limit
+     * @return the result of the deepest completed iteration, or the first
+     *         legal move at depth 0 if no iteration completed
+     */
+    SearchResult search(int startDepth, int maxDepth, long timeLimitMillis) {
+        long start = System.nanoTime();
+        deadline = timeLimitMillis > 0 ? start + timeLimitMillis * 1000000L : Long.MAX_VALUE;
+        nodes = 0;
+        quiescenceNodes = 0;
+        history.newSearch();
+        
+        int bestMove = Move.NONE;
+        int bestScore = 0;
+        int completedDepth = 0;
+        long[] timeToDepth = new long[MAX_PLY + 1];
+        
+        for (int depth = Math.min(startDepth, maxDepth); depth <= Math.min(maxDepth, MAX_PLY); depth++) {
+            rootBestMove = Move.NONE;
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+            if (stopped) {
+                break; // Incomplete iteration: keep the previous result
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+            timeToDepth[depth] = System.nanoTime() - start;
+            
+            if (stopped || bestMove == Move.NONE || Math.abs(score) >= MATE_SCORE - MAX_PLY) {
+                break; // Out of time, no legal move, or a forced mate was found
+            }
+        }
+        
+        if (bestMove == Move.NONE) {
+            // Stopped before the first iteration finished: any legal move will do
+            MoveList legalMoves = new MoveList();
+            board.generateLegalMoves(board.isWhiteToMove(), legalMoves);
+            bestMove = legalMoves.isEmpty() ? Move.NONE : legalMoves.get(0);
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - start, timeToDepth);
+    }
+
+    /**
+     * Asks a running search to stop as soon as possible. Safe to call from
+     * another thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Clears an earlier {@link #stop()}, for a parallel search that starts
+     * this search with {@link #search(int, int, long)}.
+     */
+    void clearStop() {
+        stopped = false;
+    }
+
+    /**
+     * Forgets the killer moves and history scores gathered so far, for
+     * example at the start of a new game. Between searches of the same game
+     * they are kept and only aged.
+     */
+    public void clearHistory() {
+        history.clear();
+    }
+
+    /**
+     * Searches a node with the alpha-beta window.
+     * 
+     * @param depth the remaining depth in plies
+     * @param ply the distance from the root
+     * @param alpha the lower bound of the window
+     * @param beta the upper bound of the window
+     * @return the score for the side to move
+     */
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes % TIME_CHECK_INTERVAL) == 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (ply > 0 && (board.getHalfmoveClock() >= 100 || board.isRepetition())) {
+            return 0; // Drawn by the fifty-move rule, or by repeating a position once
+        }
+        if (depth == 0 || ply >= MAX_PLY) {
+            return quiesce(ply, alpha, beta);
+        }
+        
+        long hash = board.getHash();
+        long entry = table.probe(hash);
+        int firstMove = Move.NONE;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            firstMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+        
+        MovePicker picker = pickers[ply];
+        picker.reset(firstMove, ply);
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int moveCount = 0;
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            moveCount++;
+            board.makeMove(move);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    if (!Move.isCapture(move) && !Move.isPromotion(move)) {
+                        history.recordCutoff(board.isWhiteToMove(), move, ply, depth);
+                    }
+                    break;
+                }
+            }
+        }
+        if (moveCount == 0) {
+            return board.isCheck(board.isWhiteToMove()) ? -MATE_SCORE + ply : 0;
+        }
+        
+        int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : bestScore > originalAlpha ? TranspositionTable.EXACT
+                : TranspositionTable.UPPER_BOUND;
+        table.store(hash, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Searches only captures and promotions until the position is quiet, so
+     * that a leaf is not scored in the middle of an exchange. The side to
+     * move may stand pat on the static evaluation instead of capturing.
+     * Captures that lose material by static exchange evaluation are skipped
+     * unless SEE pruning is turned off. A side in check cannot stand pat and
+     * searches every evasion instead, so checkmates are still found.
+     * 
+     * @param ply the distance from the root
+     * @param alpha the lower bound of the window
+     * @param beta the upper bound of the window
+     * @return the score for the side to move
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        nodes++;
+        quiescenceNodes++;
+        if ((nodes % TIME_CHECK_INTERVAL) == 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(board);
+        }
+        
+        MovePicker picker = pickers[ply];
+        boolean inCheck = board.isCheck(board.isWhiteToMove());
+        int bestScore = -INFINITY;
+        if (inCheck) {
+            picker.reset(Move.NONE, ply);
+        } else {
+            bestScore = evaluator.evaluate(board);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+            picker.resetCaptures(seePruning);
+        }
+        
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            board.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (inCheck && bestScore == -INFINITY) {
+            return -MATE_SCORE + ply;
+        }
+        return bestScore;
+    }
+
+    /**
+     * Converts a mate score from distance-from-root to distance-from-node
+     * before it is stored, so that it stays correct when the position is
+     * reached at a different ply.
+     * 
+     * @param score the score relative to the root
+     * @param ply the distance from the root
+     * @return the score to store
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a stored mate score back to distance-from-root.
+     * 
+     * @param score the stored score
+     * @param ply the distance from the root
+     * @return the score relative to the root
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Gets the number of nodes searched by the last search.
+     * 
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of nodes of the last search that were searched in the
+     * quiescence search; they are included in {@link #getNodes()}.
+     * 
+     * @return the quiescence node count
+     */
+    public long getQuiescenceNodes() {
+        return quiescenceNodes;
+    }
+
+    /**
+     * Turns skipping captures that lose material in the quiescence search
+     * on or off. It is on by default; turning it off is meant for measuring
+     * its effect.
+     * 
+     * @param seePruning true to skip losing captures
+     */
+    public void setSeePruning(boolean seePruning) {
+        this.seePruning = seePruning;
+    }
+
+    /**
+     * Gets the transposition table used by this search.
+     * 
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the pawn hash table of this search's evaluator.
+     * 
+     * @return the pawn hash table
+     */
+    public PawnHashTable getPawnTable() {
+        return evaluator.getPawnTable();
+    }
+}
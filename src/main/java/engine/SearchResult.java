@@ -0,0 +1,113 @@
+package engine;
+
+import pieces.Move;
+
+/**
+ * The outcome of a search: the best move found, its score and the work done.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final long[] timeToDepthNanos;
+
+    /**
+     * Constructor for SearchResult class.
+     * 
+     * @param bestMove the best packed move, or {@link Move#NONE} if there is no legal move
+     * @param score the score of the best move in centipawns
+     * @param depth the deepest completed iteration
+     * @param nodes the number of nodes searched
+     * @param elapsedNanos the total search time in nanoseconds
+     * @param timeToDepthNanos the time at which each depth completed, indexed by depth
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos, long[] timeToDepthNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.timeToDepthNanos = timeToDepthNanos;
+    }
+
+    /**
+     * Gets the best move found.
+     * 
+     * @return the packed move, or {@link Move#NONE} if the side to move has no legal move
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the score of the best move.
+     * 
+     * @return the score in centipawns for the side to move
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the deepest iteration that completed.
+     * 
+     * @return the completed depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of nodes searched.
+     * 
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the total search time.
+     * 
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the search throughput.
+     * 
+     * @return nodes searched per second
+     */
+    public long getNodesPerSecond() {
+        return (long) (nodes * 1e9 / Math.max(elapsedNanos, 1));
+    }
+
+    /**
+     * Gets the time from the start of the search until a depth completed.
+     * 
+     * @param depth the depth in plies (1 to {@link #getDepth()})
+     * @return the time in nanoseconds, or -1 if that depth did not complete
+     */
+    public long getTimeToDepthNanos(int depth) {
+        return depth >= 1 && depth <= this.depth ? timeToDepthNanos[depth] : -1;
+    }
+
+    /**
+     * Returns a one-line summary of the search.
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return "depth " + depth + " score " + score + " nodes " + nodes + " nps " + getNodesPerSecond()
+                + " time " + elapsedNanos / 1000000 + "ms bestmove "
+                + (bestMove == Move.NONE ? "(none)" : Move.toString(bestMove));
+    }
+}
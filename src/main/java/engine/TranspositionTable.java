@@ -0,0 +1,293 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size hash table of search results, keyed by the Zobrist hash of a
+ * position.
+ * 
+ * <p>Each entry is two {@code long}s: a data word packing the best move,
+ * score, depth, bound type and search generation, and a check word holding
+ * the position hash XORed with the data. A probe accepts an entry only when
+ * the two words XOR back to the hash being looked up, so several threads can
+ * read and write the table without locks: an entry torn by a concurrent
+ * write simply fails the check and is treated as a miss.
+ * 
+ * <p>Entries are grouped in buckets of two. The first slot is
+ * depth-preferred and keeps the deepest result unless it is left over from an
+ * earlier search; the second slot always takes the newest result.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class TranspositionTable {
+    /** Bound type for a score that is exact. */
+    public static final int EXACT = 1;
+    /** Bound type for a score that is at least the stored value (fail-high). */
+    public static final int LOWER_BOUND = 2;
+    /** Bound type for a score that is at most the stored value (fail-low). */
+    public static final int UPPER_BOUND = 3;
+    /** Value returned by {@link #probe(long)} when there is no entry. */
+    public static final long NO_ENTRY = 0;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_SIZE = 2;
+    // Number of buckets sampled by getOccupancy()
+    private static final int OCCUPANCY_SAMPLE = 1000;
+
+    // Data word layout
+    private static final int MOVE_SHIFT = 0;
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int GENERATION_SHIFT = 42;
+
+    private final long[] checks;
+    private final long[] data;
+    private final int bucketMask;
+    private final int sizeMegabytes;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * Constructor for TranspositionTable class.
+     * The entry count is rounded down to a power of two that fits the budget.
+     * 
+     * @param sizeMegabytes the memory budget in megabytes (at least 1)
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public TranspositionTable(int sizeMegabytes) {
+        if (sizeMegabytes < 1 || sizeMegabytes > 16384) {
+            throw new IllegalArgumentException("Transposition table size must be between 1 and 16384 MB");
+        }
+        long buckets = Long.highestOneBit(sizeMegabytes * 1024L * 1024L / (ENTRY_BYTES * BUCKET_SIZE));
+        // Java arrays are limited to int indices
+        buckets = Math.min(buckets, 1L << 29);
+        this.checks = new long[(int) buckets * BUCKET_SIZE];
+        this.data = new long[(int) buckets * BUCKET_SIZE];
+        this.bucketMask = (int) buckets - 1;
+        this.sizeMegabytes = sizeMegabytes;
+    }
+
+    /**
+     * Looks up a position.
+     * 
+     * @param hash the Zobrist hash of the position
+     * @return the packed entry, or {@link #NO_ENTRY} if the position is not stored
+     */
+    public long probe(long hash) {
+        probes.increment();
+        int index = index(hash);
+        for (int slot = index; slot < index + BUCKET_SIZE; slot++) {
+            long entry = data[slot];
+            if (entry != NO_ENTRY && (checks[slot] ^ entry) == hash) {
+                hits.increment();
+                return entry;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores a search result for a position.
+     * 
+     * @param hash the Zobrist hash of the position
+     * @param move the best packed move, or 0 if none
+     * @param score the score, already adjusted for the distance to mate
+     * @param depth the depth the position was searched to
+     * @param bound the bound type ({@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND})
+     */
+    public void store(long hash, int move, int score, int depth, int bound) {
+        int index = index(hash);
+        int currentGeneration = generation;
+        long entry = ((long) (move & 0xFFFF) << MOVE_SHIFT)
+                | ((long) (score & 0xFFFF) << SCORE_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (currentGeneration & 0xFF) << GENERATION_SHIFT);
+        
+        // Keep the previous best move when re-storing a position without one
+        int slot = index;
+        long old = data[slot];
+        boolean sameKey = old != NO_ENTRY && (checks[slot] ^ old) == hash;
+        if (!sameKey) {
+            long second = data[index + 1];
+            if (second != NO_ENTRY && (checks[index + 1] ^ second) == hash) {
+                slot = index + 1;
+                old = second;
+                sameKey = true;
+            }
+        }
+        if (sameKey && move == 0) {
+            entry |= old & (0xFFFFL << MOVE_SHIFT);
+        }
+        
+        if (slot == index && !sameKey && old != NO_ENTRY
+                && depth(old) > depth && generation(old) == (currentGeneration & 0xFF)) {
+            // Depth-preferred slot holds a deeper result from this search
+            slot = index + 1;
+        }
+        data[slot] = entry;
+        checks[slot] = hash ^ entry;
+        stores.increment();
+    }
+
+    /**
+     * Starts a new search, so that entries from earlier searches are replaced
+     * first.
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    /**
+     * Removes every entry and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(checks, 0);
+        Arrays.fill(data, 0);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+
+    /**
+     * Gets the bucket index for a hash.
+     * 
+     * @param hash the position hash
+     * @return the index of the first slot of the bucket
+     */
+    private int index(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+
+    /**
+     * Gets the best move of an entry.
+     * 
+     * @param entry a packed entry returned by {@link #probe(long)}
+     * @return the packed move, or 0 if none was stored
+     */
+    public static int move(long entry) {
+        return (int) (entry >>> MOVE_SHIFT) & 0xFFFF;
+    }
+
+    /**
+     * Gets the score of an entry.
+     * 
+     * @param entry a packed entry returned by {@link #probe(long)}
+     * @return the stored score
+     */
+    public static int score(long entry) {
+        return (short) (entry >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Gets the depth of an entry.
+     * 
+     * @param entry a packed entry returned by {@link #probe(long)}
+     * @return the depth the position was searched to
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the bound type of an entry.
+     * 
+     * @param entry a packed entry returned by {@link #probe(long)}
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * Gets the search generation an entry was stored in.
+     * 
+     * @param entry a packed entry
+     * @return the generation, modulo 256
+     */
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the memory budget the table was created with.
+     * 
+     * @return the size in megabytes
+     */
+    public int getSizeMegabytes() {
+        return sizeMegabytes;
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     * 
+     * @return the entry count
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * Gets the fraction of probes that found an entry.
+     * 
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Gets the number of probes made.
+     * 
+     * @return the probe count
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Gets the number of entries written.
+     * 
+     * @return the store count
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Estimates the fraction of entries used by the current search, from a
+     * sample at the start of the table.
+     * 
+     * @return the occupancy between 0 and 1
+     */
+    public double getOccupancy() {
+        int sampled = Math.min(OCCUPANCY_SAMPLE * BUCKET_SIZE, data.length);
+        int currentGeneration = generation & 0xFF;
+        int used = 0;
+        for (int slot = 0; slot < sampled; slot++) {
+            long entry = data[slot];
+            if (entry != NO_ENTRY && generation(entry) == currentGeneration) {
+                used++;
+            }
+        }
+        return (double) used / sampled;
+    }
+
+    /**
+     * Returns a one-line summary of the table statistics.
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("tt %dMB hits %.1f%% occupancy %.1f%% probes %d stores %d",
+                sizeMegabytes, getHitRate() * 100, getOccupancy() * 100, getProbes(), getStores());
+    }
+}
@@ -0,0 +1,138 @@
+package game;
+
+import board.Board;
+import board.Position;
+import java.util.Scanner;
+import pieces.Move;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * A human player who types moves on the console. All console players of a
+ * game share one {@link Scanner}, so input piped from a file is not split
+ * between several buffers.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class ConsolePlayer extends Player {
+    private final Scanner scanner;
+    private final MoveList legalMoves;
+
+    /**
+     * Constructor for ConsolePlayer class.
+     * 
+     * @param isWhite true if the player plays white pieces, false if black
+     * @param name the name of the player
+     * @param scanner the console input, shared with the other console player
+     */
+    public ConsolePlayer(boolean isWhite, String name, Scanner scanner) {
+        super(isWhite, name);
+        this.scanner = scanner;
+        this.legalMoves = new MoveList();
+    }
+
+    /**
+     * Prompts the player for a move until a legal one is entered.
+     * 
+     * @param board the current board state
+     * @return the packed move, or {@link Move#NONE} if the player quits or the input ends
+     */
+    @Override
+    public int chooseMove(Board board) {
+        while (true) {
+            System.out.print(getName() + " (" + (isWhite() ? "White" : "Black") + "), enter your move (e.g., E2 E4): ");
+            if (!scanner.hasNextLine()) {
+                return Move.NONE;
+            }
+            String input = scanner.nextLine().trim().toUpperCase();
+            
+            if (input.equals("QUIT") || input.equals("EXIT")) {
+                return Move.NONE; // Signal to quit the game
+            }
+            
+            String[] parts = input.split("\\s+");
+            if (parts.length != 2) {
+                System.out.println("Invalid format. Please enter move as 'FROM TO' (e.g., E2 E4)");
+                continue;
+            }
+            
+            Position from;
+            Position to;
+            try {
+                from = Position.of(parts[0]);
+                to = Position.of(parts[1]);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Invalid position: " + e.getMessage() + ". Please try again.");
+                continue;
+            }
+            
+            // Validate that the player is moving their own piece
+            Piece piece = board.getPiece(from);
+            if (piece == null) {
+                System.out.println("No piece at " + from + ". Please try again.");
+                continue;
+            }
+            if (piece.isWhite() != isWhite()) {
+                System.out.println("That's not your piece! Please try again.");
+                continue;
+            }
+            
+            // Validate the move, including that it does not leave the king in check
+            int move = findLegalMove(board, from.getIndex(), to.getIndex());
+            if (move == Move.NONE) {
+                System.out.println("Invalid move for " + piece.toString() + ". Please try again.");
+                continue;
+            }
+            return move;
+        }
+    }
+
+    /**
+     * Finds the legal move between two squares, asking for the piece to
+     * promote to when the move is a promotion.
+     * 
+     * @param board the current board state
+     * @param from the starting square index
+     * @param to the destination square index
+     * @return the packed move, or {@link Move#NONE} if the move is not legal
+     */
+    private int findLegalMove(Board board, int from, int to) {
+        legalMoves.clear();
+        board.generateLegalMoves(isWhite(), legalMoves);
+        int promotionType = -1;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (Move.from(move) != from || Move.to(move) != to) {
+                continue;
+            }
+            if (!Move.isPromotion(move)) {
+                return move;
+            }
+            if (promotionType < 0) {
+                promotionType = choosePromotionPiece();
+            }
+            if (Move.promotionType(move) == promotionType) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Prompts the player to choose a piece for pawn promotion.
+     * 
+     * @return the piece type ({@link Piece#KNIGHT} to {@link Piece#QUEEN}); a queen if the input ends
+     */
+    private int choosePromotionPiece() {
+        System.out.print("Pawn promotion! Choose piece (Q/R/B/N): ");
+        while (scanner.hasNextLine()) {
+            String choice = scanner.nextLine().trim().toUpperCase();
+            if (choice.length() == 1 && "NBRQ".indexOf(choice.charAt(0)) >= 0) {
+                return Piece.KNIGHT + "NBRQ".indexOf(choice.charAt(0));
+            }
+            System.out.print("Invalid choice. Please enter Q, R, B, or N: ");
+        }
+        return Piece.QUEEN;
+    }
+}
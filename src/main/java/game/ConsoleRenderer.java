@@ -0,0 +1,148 @@
+package game;
+
+import board.Board;
+import board.Position;
+import java.util.List;
+import pieces.Move;
+import pieces.Piece;
+
+/**
+ * Shows a game on the console: the board before every turn, each move
+ * played, checks, the search result of computer players and the end of
+ * the game.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class ConsoleRenderer implements GameObserver {
+    /**
+     * Shows the players.
+     * 
+     * @param game the game
+     */
+    @Override
+    public void gameStarted(Game game) {
+        System.out.println("White: " + game.getWhitePlayer().getName());
+        System.out.println("Black: " + game.getBlackPlayer().getName());
+    }
+
+    /**
+     * Shows the board and whose turn it is, and warns of check.
+     * 
+     * @param game the game
+     * @param player the player to move
+     */
+    @Override
+    public void turnStarted(Game game, Player player) {
+        Board board = game.getBoard();
+        displayGameState(board, player);
+        if (board.isCheck(player.isWhite())) {
+            System.out.println("CHECK! " + player.getName() + " is in check.");
+        }
+    }
+
+    /**
+     * Shows the move, with the search result for a computer player.
+     * 
+     * @param game the game
+     * @param player the player who moved
+     * @param move the packed move
+     */
+    @Override
+    public void moveMade(Game game, Player player, int move) {
+        Board board = game.getBoard();
+        Position from = Move.fromPosition(move);
+        Position to = Move.toPosition(move);
+        Piece piece = board.getPiece(to);
+        
+        if (player instanceof EnginePlayer) {
+            EnginePlayer engine = (EnginePlayer) player;
+            System.out.println(player.getName() + " (" + (player.isWhite() ? "White" : "Black") + ") plays "
+                    + Move.toString(move) + " [" + engine.getLastResult() + ", " + engine.getTable()
+                    + ", " + engine.getPawnTable() + "]");
+        }
+        if (Move.isPromotion(move)) {
+            System.out.println("Move made: Pawn from " + from + " to " + to);
+            System.out.println("Pawn promoted to " + piece.toString());
+        } else {
+            System.out.println("Move made: " + piece.toString() + " from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Shows the final position and the result.
+     * 
+     * @param game the game
+     */
+    @Override
+    public void gameEnded(Game game) {
+        Board board = game.getBoard();
+        Player sideToMove = board.isWhiteToMove() ? game.getWhitePlayer() : game.getBlackPlayer();
+        Player opponent = board.isWhiteToMove() ? game.getBlackPlayer() : game.getWhitePlayer();
+        switch (game.getTermination()) {
+            case CHECKMATE:
+                displayGameState(board, sideToMove);
+                System.out.println("CHECKMATE! " + opponent.getName() + " wins!");
+                break;
+            case STALEMATE:
+                displayGameState(board, sideToMove);
+                System.out.println("STALEMATE! It's a draw!");
+                break;
+            case TIME_FORFEIT:
+                System.out.println("TIME! " + sideToMove.getName() + " ran out of time. " + opponent.getName() + " wins!");
+                break;
+            case ABANDONED:
+                System.out.println("Game ended by player choice.");
+                break;
+            case ADJUDICATION:
+                if (game.getResult() == GameResult.DRAW) {
+                    System.out.println("Game Over! It's a draw!");
+                } else {
+                    Player winner = game.getResult() == GameResult.WHITE_WINS ? game.getWhitePlayer() : game.getBlackPlayer();
+                    System.out.println("Game Over! " + winner.getName() + " wins!");
+                }
+                break;
+            default:
+                displayGameState(board, sideToMove);
+                System.out.println("DRAW by " + game.getTermination() + "!");
+                break;
+        }
+        System.out.println("Thank you for playing!");
+    }
+
+    /**
+     * Displays the current game state including the board and game information.
+     * 
+     * @param board the board
+     * @param currentPlayer the player to move
+     */
+    private void displayGameState(Board board, Player currentPlayer) {
+        System.out.println("\n" + "=".repeat(50));
+        board.display();
+        
+        System.out.println("Current turn: " + currentPlayer.getName() + " (" + 
+                          (currentPlayer.isWhite() ? "White" : "Black") + ")");
+        
+        // Display captured pieces if any
+        List<Piece> capturedPieces = board.getCapturedPieces();
+        if (!capturedPieces.isEmpty()) {
+            System.out.println("Captured pieces: " + getCapturedPiecesString(capturedPieces));
+        }
+        
+        System.out.println("=".repeat(50));
+    }
+
+    /**
+     * Gets a string representation of captured pieces.
+     * 
+     * @param capturedPieces the captured pieces
+     * @return string representation of captured pieces
+     */
+    private String getCapturedPiecesString(List<Piece> capturedPieces) {
+        StringBuilder sb = new StringBuilder();
+        for (Piece piece : capturedPieces) {
+            sb.append(piece.toString()).append(" ");
+        }
+        return sb.toString().trim();
+    }
+}
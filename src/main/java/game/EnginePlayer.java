@@ -0,0 +1,141 @@
+package game;
+
+import board.Board;
+import engine.ParallelSearch;
+import engine.PawnHashTable;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import pieces.Move;
+
+/**
+ * A computer player that chooses its moves with an alpha-beta search.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class EnginePlayer extends Player implements AutoCloseable {
+    /** Transposition table size used when none is given, in megabytes. */
+    public static final int DEFAULT_HASH_MEGABYTES = 64;
+    /** Moves assumed to be left in the game when the time control does not say. */
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+    // Time kept back from the clock for the search overshooting its limit
+    // and for communication delays, in milliseconds
+    private static final long MOVE_OVERHEAD = 50;
+
+    private final ParallelSearch search;
+    private final int maxDepth;
+    private final long moveTimeMillis;
+    private SearchResult lastResult;
+    private long clockBudgetMillis;
+
+    /**
+     * Constructor for EnginePlayer class.
+     * 
+     * @param isWhite true if the player plays white pieces, false if black
+     * @param name the name of the player
+     * @param maxDepth the deepest search iteration in plies
+     * @param moveTimeMillis the time budget per move in milliseconds, or 0 for no limit
+     */
+    public EnginePlayer(boolean isWhite, String name, int maxDepth, long moveTimeMillis) {
+        this(isWhite, name, maxDepth, moveTimeMillis, DEFAULT_HASH_MEGABYTES, 1);
+    }
+
+    /**
+     * Constructor for EnginePlayer class with a transposition table size and
+     * thread count. The table is kept between moves.
+     * 
+     * @param isWhite true if the player plays white pieces, false if black
+     * @param name the name of the player
+     * @param maxDepth the deepest search iteration in plies
+     * @param moveTimeMillis the time budget per move in milliseconds, or 0 for no limit
+     * @param hashMegabytes the transposition table size in megabytes
+     * @param threads the number of search threads
+     */
+    public EnginePlayer(boolean isWhite, String name, int maxDepth, long moveTimeMillis,
+                        int hashMegabytes, int threads) {
+        super(isWhite, name);
+        if (maxDepth < 1 || maxDepth > Search.MAX_PLY) {
+            throw new IllegalArgumentException("Search depth must be between 1 and " + Search.MAX_PLY);
+        }
+        this.maxDepth = maxDepth;
+        this.moveTimeMillis = moveTimeMillis;
+        this.search = new ParallelSearch(new TranspositionTable(hashMegabytes), threads);
+        this.clockBudgetMillis = -1;
+    }
+
+    /**
+     * Works out how long to search for one move from the time on the clock.
+     * 
+     * @param remainingMillis the time left on the clock in milliseconds
+     * @param incrementMillis the time added after each move in milliseconds
+     * @param movesToGo the number of moves to play in the remaining time
+     * @return the search time in milliseconds, at least 1
+     */
+    public static long budgetMoveTime(long remainingMillis, long incrementMillis, long movesToGo) {
+        long budget = remainingMillis / movesToGo + incrementMillis * 3 / 4;
+        return Math.max(1, Math.min(budget, remainingMillis - MOVE_OVERHEAD));
+    }
+
+    /**
+     * Uses the time on the clock instead of the fixed move time for the next
+     * search.
+     * 
+     * @param remainingMillis the time left on the player's clock in milliseconds
+     * @param incrementMillis the time added to the clock after each move in milliseconds
+     */
+    @Override
+    public void setClock(long remainingMillis, long incrementMillis) {
+        clockBudgetMillis = budgetMoveTime(remainingMillis, incrementMillis, DEFAULT_MOVES_TO_GO);
+    }
+
+    /**
+     * Searches the position and returns the best move found.
+     * 
+     * @param board the current board state
+     * @return the packed move, or {@link Move#NONE} if there is no legal move
+     */
+    @Override
+    public int chooseMove(Board board) {
+        long timeLimit = clockBudgetMillis >= 0 ? clockBudgetMillis : moveTimeMillis;
+        clockBudgetMillis = -1;
+        lastResult = search.search(board, maxDepth, timeLimit);
+        return lastResult.getBestMove();
+    }
+
+    /**
+     * Gets the result of the last search.
+     * 
+     * @return the last search result, or null if no move has been made yet
+     */
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Gets the transposition table kept between moves.
+     * 
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return search.getTable();
+    }
+
+    /**
+     * Gets the pawn hash table of the main search thread, also kept between
+     * moves.
+     * 
+     * @return the pawn hash table
+     */
+    public PawnHashTable getPawnTable() {
+        return search.getPawnTable();
+    }
+
+    /**
+     * Shuts down the search helper threads.
+     */
+    @Override
+    public void close() {
+        search.close();
+    }
+}
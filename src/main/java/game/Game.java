@@ -1,213 +1,343 @@
 package game;
 
 import board.Board;
-import board.Position;
-import pieces.*;
-import java.util.Scanner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import pieces.Move;
+import pieces.MoveList;
+import pieces.Piece;
 
 /**
  * Main game class that orchestrates the chess game.
  * 
+ * <p>The game itself does no input or output: it asks each {@link Player}
+ * for a move, plays it on the board and reports what happens to its
+ * {@link GameObserver}s, so the same game runs on the console (with a
+ * {@link ConsoleRenderer} and {@link ConsolePlayer}s) or headless, for
+ * example in engine self-play.
+ * 
+ * <p>The game ends on checkmate or stalemate, on a draw by the fifty-move
+ * rule, threefold repetition or insufficient material, when the optional
+ * move limit is reached, when a player runs out of time on the optional
+ * clock, or when a player leaves.
+ * 
  * @author Chess Game
  * @version 1.0
  */
 public class Game {
-    private Board board;
-    private Player whitePlayer;
-    private Player blackPlayer;
-    private boolean isWhiteTurn;
-    private boolean gameOver;
-    private Scanner scanner;
+    private final Board board;
+    private final Player whitePlayer;
+    private final Player blackPlayer;
+    private final List<GameObserver> observers;
+    private final MoveList legalMoves;
+    private long[] positionHashes;
+    private int plies;
+    private int maxMoves;
+    private long incrementMillis;
+    private long[] clockMillis;
+    // Volatile because end() may be called from another thread while a
+    // player is thinking; termination is always written before result
+    private volatile GameResult result;
+    private volatile Termination termination;
 
     /**
-     * Constructor for Game class.
+     * Constructor for Game class, starting from the standard position.
+     * 
+     * @param whitePlayer the player of the white pieces
+     * @param blackPlayer the player of the black pieces
      */
-    public Game() {
-        this.board = new Board();
-        this.scanner = new Scanner(System.in);
-        this.isWhiteTurn = true;
-        this.gameOver = false;
-        initializePlayers();
+    public Game(Player whitePlayer, Player blackPlayer) {
+        this(whitePlayer, blackPlayer, Board.START_FEN);
     }
 
     /**
-     * Initializes the players by getting their names.
+     * Constructor for Game class, starting from a given position.
+     * 
+     * @param whitePlayer the player of the white pieces
+     * @param blackPlayer the player of the black pieces
+     * @param startFen the starting position in FEN
+     * @throws IllegalArgumentException if a player has the wrong color or the FEN is invalid
      */
-    private void initializePlayers() {
-        System.out.println("Welcome to Console Chess Game!");
-        System.out.println("===============================");
-        
-        System.out.print("Enter name for White player: ");
-        String whiteName = scanner.nextLine().trim();
-        if (whiteName.isEmpty()) {
-            whiteName = "White Player";
-        }
-        
-        System.out.print("Enter name for Black player: ");
-        String blackName = scanner.nextLine().trim();
-        if (blackName.isEmpty()) {
-            blackName = "Black Player";
+    public Game(Player whitePlayer, Player blackPlayer, String startFen) {
+        if (!whitePlayer.isWhite() || blackPlayer.isWhite()) {
+            throw new IllegalArgumentException("Players must play white and black");
         }
-        
-        this.whitePlayer = new Player(true, whiteName);
-        this.blackPlayer = new Player(false, blackName);
-        
-        System.out.println("\nGame initialized!");
-        System.out.println("White: " + whiteName);
-        System.out.println("Black: " + blackName);
-        System.out.println("\nEnter 'QUIT' at any time to exit the game.");
-        System.out.println("Move format: FROM TO (e.g., E2 E4)");
+        this.board = Board.fromFen(startFen);
+        this.whitePlayer = whitePlayer;
+        this.blackPlayer = blackPlayer;
+        this.observers = new ArrayList<>();
+        this.legalMoves = new MoveList();
+        this.positionHashes = new long[256];
     }
 
     /**
-     * Starts the game and runs the main game loop.
+     * Adds an observer that is told about every event of the game.
+     * 
+     * @param observer the observer
      */
-    public void start() {
-        while (!gameOver) {
-            displayGameState();
-            
-            Player currentPlayer = isWhiteTurn ? whitePlayer : blackPlayer;
+    public void addObserver(GameObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Sets a limit on the length of the game; a game that reaches it is
+     * drawn. Useful to bound engine self-play.
+     * 
+     * @param maxMoves the most full moves to play, or 0 for no limit
+     */
+    public void setMaxMoves(int maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Plays the game with a clock: each player starts with the base time,
+     * gains the increment after every move, and loses when the time spent
+     * choosing a move exceeds what is left on the clock.
+     * 
+     * @param baseMillis the starting time of each player in milliseconds
+     * @param incrementMillis the time added after each move in milliseconds
+     */
+    public void setTimeControl(long baseMillis, long incrementMillis) {
+        this.clockMillis = new long[] {baseMillis, baseMillis};
+        this.incrementMillis = incrementMillis;
+    }
+
+    /**
+     * Starts the game and runs the main game loop until the game is over.
+     * 
+     * @return the result of the game
+     */
+    public GameResult start() {
+        for (GameObserver observer : observers) {
+            observer.gameStarted(this);
+        }
+        positionHashes[0] = board.getHash();
+        
+        while (result == null) {
+            Player currentPlayer = board.isWhiteToMove() ? whitePlayer : blackPlayer;
+            legalMoves.clear();
+            board.generateLegalMoves(currentPlayer.isWhite(), legalMoves);
+            if (legalMoves.isEmpty()) {
+                if (board.isCheck(currentPlayer.isWhite())) {
+                    finish(GameResult.win(!currentPlayer.isWhite()), Termination.CHECKMATE);
+                } else {
+                    finish(GameResult.DRAW, Termination.STALEMATE);
+                }
+                break;
+            }
+            Termination draw = drawTermination();
+            if (draw != null) {
+                finish(GameResult.DRAW, draw);
+                break;
+            }
             
-            if (board.isCheck(currentPlayer.isWhite())) {
-                System.out.println("CHECK! " + currentPlayer.getName() + " is in check.");
-                
-                if (board.isCheckmate(currentPlayer.isWhite())) {
-                    System.out.println("CHECKMATE! " + currentPlayer.getName() + " loses!");
-                    gameOver = true;
+            for (GameObserver observer : observers) {
+                observer.turnStarted(this, currentPlayer);
+            }
+            int side = currentPlayer.isWhite() ? 0 : 1;
+            if (clockMillis != null) {
+                currentPlayer.setClock(clockMillis[side], incrementMillis);
+            }
+            long moveStart = System.nanoTime();
+            int move = currentPlayer.chooseMove(board);
+            if (result != null) {
+                break; // Ended with end() while the player was thinking
+            }
+            if (clockMillis != null) {
+                clockMillis[side] -= (System.nanoTime() - moveStart) / 1000000;
+                if (clockMillis[side] < 0) {
+                    finish(GameResult.win(!currentPlayer.isWhite()), Termination.TIME_FORFEIT);
                     break;
                 }
+                clockMillis[side] += incrementMillis;
             }
-            
-            Position[] move = currentPlayer.makeMove(board);
-            
-            if (move == null) {
-                // Player wants to quit
-                System.out.println("Game ended by player choice.");
-                gameOver = true;
+            if (move == Move.NONE) {
+                finish(GameResult.UNFINISHED, Termination.ABANDONED);
                 break;
             }
+            if (!isLegal(move)) {
+                throw new IllegalStateException(currentPlayer.getName() + " chose an illegal move: " + Move.toString(move));
+            }
             
-            Position from = move[0];
-            Position to = move[1];
-            Piece piece = board.getPiece(from);
-            
-            // Make the move
-            if (board.movePiece(from, to)) {
-                // Check for pawn promotion
-                if (piece instanceof Pawn) {
-                    checkPawnPromotion(to, currentPlayer);
-                }
-                
-                // Switch turns
-                isWhiteTurn = !isWhiteTurn;
-                
-                System.out.println("Move made: " + piece.toString() + " from " + from + " to " + to);
-                
-                // Check for checkmate after the move
-                if (board.isCheckmate(!currentPlayer.isWhite())) {
-                    displayGameState();
-                    System.out.println("CHECKMATE! " + currentPlayer.getName() + " wins!");
-                    gameOver = true;
-                } else if (board.isCheck(!currentPlayer.isWhite())) {
-                    System.out.println("CHECK! " + (isWhiteTurn ? whitePlayer : blackPlayer).getName() + " is in check.");
-                }
-            } else {
-                System.out.println("Invalid move. Please try again.");
+            board.makeMove(move);
+            plies++;
+            if (plies == positionHashes.length) {
+                positionHashes = Arrays.copyOf(positionHashes, plies * 2);
+            }
+            positionHashes[plies] = board.getHash();
+            for (GameObserver observer : observers) {
+                observer.moveMade(this, currentPlayer, move);
             }
         }
         
-        scanner.close();
-        System.out.println("Thank you for playing!");
+        for (GameObserver observer : observers) {
+            observer.gameEnded(this);
+        }
+        return result;
     }
 
     /**
-     * Checks for pawn promotion and handles it.
+     * Checks if a move is in the legal moves of the current position.
      * 
-     * @param position the position of the promoted pawn
-     * @param player the player whose pawn is being promoted
+     * @param move the packed move
+     * @return true if the move is legal, false otherwise
      */
-    private void checkPawnPromotion(Position position, Player player) {
-        Piece piece = board.getPiece(position);
-        if (piece instanceof Pawn) {
-            int promotionRow = player.isWhite() ? 0 : 7;
-            if (position.getRow() == promotionRow) {
-                String pieceChoice = player.choosePromotionPiece();
-                Piece newPiece = createPromotionPiece(pieceChoice, player.isWhite(), position);
-                
-                // Replace the pawn with the new piece
-                board.getSquares()[position.getRow()][position.getColumn()] = newPiece;
-                
-                System.out.println("Pawn promoted to " + newPiece.toString());
+    private boolean isLegal(int move) {
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (legalMoves.get(i) == move) {
+                return true;
             }
         }
+        return false;
     }
 
     /**
-     * Creates a new piece for pawn promotion.
+     * Checks the draw rules for the current position.
      * 
-     * @param pieceType the type of piece to create (Q, R, B, N)
-     * @param isWhite true if the piece is white, false if black
-     * @param position the position of the new piece
-     * @return the new piece
+     * @return the reason the game is drawn, or null if play goes on
      */
-    private Piece createPromotionPiece(String pieceType, boolean isWhite, Position position) {
-        switch (pieceType) {
-            case "Q":
-                return new Queen(isWhite, position);
-            case "R":
-                return new Rook(isWhite, position);
-            case "B":
-                return new Bishop(isWhite, position);
-            case "N":
-                return new Knight(isWhite, position);
-            default:
-                return new Queen(isWhite, position); // Default to queen
+    private Termination drawTermination() {
+        if (board.getHalfmoveClock() >= 100) {
+            return Termination.FIFTY_MOVE_RULE;
+        }
+        if (isThreefoldRepetition()) {
+            return Termination.THREEFOLD_REPETITION;
         }
+        if (isInsufficientMaterial()) {
+            return Termination.INSUFFICIENT_MATERIAL;
+        }
+        if (maxMoves > 0 && plies >= 2 * maxMoves) {
+            return Termination.MOVE_LIMIT;
+        }
+        return null;
     }
 
     /**
-     * Displays the current game state including the board and game information.
+     * Checks if the current position has occurred twice before. Only
+     * positions since the last capture or pawn move can repeat, and only
+     * every second one has the same side to move.
+     * 
+     * @return true if the position occurred three times
      */
-    private void displayGameState() {
-        System.out.println("\n" + "=".repeat(50));
-        board.display();
-        
-        Player currentPlayer = isWhiteTurn ? whitePlayer : blackPlayer;
-        System.out.println("Current turn: " + currentPlayer.getName() + " (" + 
-                          (currentPlayer.isWhite() ? "White" : "Black") + ")");
-        
-        // Display captured pieces if any
-        if (!board.getCapturedPieces().isEmpty()) {
-            System.out.println("Captured pieces: " + getCapturedPiecesString());
+    private boolean isThreefoldRepetition() {
+        long hash = positionHashes[plies];
+        int oldest = Math.max(0, plies - board.getHalfmoveClock());
+        int count = 1;
+        for (int ply = plies - 4; ply >= oldest; ply -= 2) {
+            if (positionHashes[ply] == hash && ++count == 3) {
+                return true;
+            }
         }
-        
-        System.out.println("=".repeat(50));
+        return false;
+    }
+
+    /**
+     * Checks if neither side can checkmate: only kings are left, or kings
+     * and a single knight or bishop.
+     * 
+     * @return true if the material is insufficient
+     */
+    private boolean isInsufficientMaterial() {
+        long minorPieces = 0;
+        for (int side = 0; side < 2; side++) {
+            boolean white = side == 0;
+            if ((board.getPieceBitboard(Piece.PAWN, white) | board.getPieceBitboard(Piece.ROOK, white)
+                    | board.getPieceBitboard(Piece.QUEEN, white)) != 0) {
+                return false;
+            }
+            minorPieces |= board.getPieceBitboard(Piece.KNIGHT, white) | board.getPieceBitboard(Piece.BISHOP, white);
+        }
+        return Long.bitCount(minorPieces) <= 1;
     }
 
     /**
-     * Gets a string representation of captured pieces.
+     * Records the end of the game. Only the first call has an effect, so the game loop and a concurrent
+     * {@link #end(Player)} cannot mix their result and termination. A thread
+     * that sees the result also sees the termination set with it.
      * 
-     * @return string representation of captured pieces
+     * @param result the result
+     * @param termination the reason the game ended
      */
-    private String getCapturedPiecesString() {
-        StringBuilder sb = new StringBuilder();
-        for (Piece piece : board.getCapturedPieces()) {
-            sb.append(piece.toString()).append(" ");
+    private synchronized void finish(GameResult result, Termination termination) {
+        if (this.result == null) {
+            this.termination = termination;
+            this.result = result;
         }
-        return sb.toString().trim();
     }
 
     /**
-     * Ends the game and declares the winner.
+     * Ends the game and declares the winner. If called while a player is
+     * choosing a move, that move is not played. Has no effect once the game
+     * is over.
      * 
      * @param winner the winning player, or null for a draw
      */
     public void end(Player winner) {
-        gameOver = true;
-        if (winner != null) {
-            System.out.println("Game Over! " + winner.getName() + " wins!");
-        } else {
-            System.out.println("Game Over! It's a draw!");
-        }
+        finish(winner == null ? GameResult.DRAW : GameResult.win(winner.isWhite()), Termination.ADJUDICATION);
+    }
+
+    /**
+     * Gets the board the game is played on.
+     * 
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the player of the white pieces.
+     * 
+     * @return the white player
+     */
+    public Player getWhitePlayer() {
+        return whitePlayer;
+    }
+
+    /**
+     * Gets the player of the black pieces.
+     * 
+     * @return the black player
+     */
+    public Player getBlackPlayer() {
+        return blackPlayer;
+    }
+
+    /**
+     * Gets the number of moves played so far.
+     * 
+     * @return the number of halfmoves
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * Gets the time left on a player's clock.
+     * 
+     * @param white true for the white player, false for the black player
+     * @return the remaining time in milliseconds, or -1 if the game has no clock
+     */
+    public long getClockMillis(boolean white) {
+        return clockMillis == null ? -1 : clockMillis[white ? 0 : 1];
+    }
+
+    /**
+     * Gets the result of the game.
+     * 
+     * @return the result, or null while the game is being played
+     */
+    public GameResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the reason the game ended.
+     * 
+     * @return the reason, or null while the game is being played
+     */
+    public Termination getTermination() {
+        return termination;
     }
 }
@@ -0,0 +1,48 @@
+package game;
+
+/**
+ * Receives the events of a {@link Game} as it is played, for example to
+ * show it on the console or to record it. Every method does nothing by
+ * default, so an observer only overrides the events it needs.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public interface GameObserver {
+
+    /**
+     * Called once before the first move.
+     * 
+     * @param game the game
+     */
+    default void gameStarted(Game game) {
+    }
+
+    /**
+     * Called before a player is asked for a move.
+     * 
+     * @param game the game
+     * @param player the player to move
+     */
+    default void turnStarted(Game game, Player player) {
+    }
+
+    /**
+     * Called after a move has been played on the board.
+     * 
+     * @param game the game
+     * @param player the player who moved
+     * @param move the packed move (see {@link pieces.Move})
+     */
+    default void moveMade(Game game, Player player, int move) {
+    }
+
+    /**
+     * Called once when the game is over; the result and the reason are
+     * available from the game.
+     * 
+     * @param game the game
+     */
+    default void gameEnded(Game game) {
+    }
+}
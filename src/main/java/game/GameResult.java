@@ -0,0 +1,48 @@
+package game;
+
+/**
+ * The outcome of a game.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public enum GameResult {
+    /** White won. */
+    WHITE_WINS("1-0"),
+    /** Black won. */
+    BLACK_WINS("0-1"),
+    /** The game was drawn. */
+    DRAW("1/2-1/2"),
+    /** The game ended without a result, for example when a player left. */
+    UNFINISHED("*");
+
+    private final String notation;
+
+    /**
+     * Constructor for GameResult enum.
+     * 
+     * @param notation the result as written in PGN
+     */
+    GameResult(String notation) {
+        this.notation = notation;
+    }
+
+    /**
+     * Gets the result as written in PGN.
+     * 
+     * @return "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    public String getNotation() {
+        return notation;
+    }
+
+    /**
+     * Gets the result of a win.
+     * 
+     * @param whiteWon true if white won, false if black won
+     * @return the result
+     */
+    public static GameResult win(boolean whiteWon) {
+        return whiteWon ? WHITE_WINS : BLACK_WINS;
+    }
+}
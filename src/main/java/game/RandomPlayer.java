@@ -0,0 +1,44 @@
+package game;
+
+import board.Board;
+import java.util.Random;
+import pieces.MoveList;
+
+/**
+ * A player that plays a uniformly random legal move. Games between random
+ * players cost almost nothing to choose moves for, so they measure the
+ * speed of the game loop itself.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class RandomPlayer extends Player {
+    private final Random random;
+    private final MoveList legalMoves;
+
+    /**
+     * Constructor for RandomPlayer class.
+     * 
+     * @param isWhite true if the player plays white pieces, false if black
+     * @param name the name of the player
+     * @param seed the seed of the random number generator
+     */
+    public RandomPlayer(boolean isWhite, String name, long seed) {
+        super(isWhite, name);
+        this.random = new Random(seed);
+        this.legalMoves = new MoveList();
+    }
+
+    /**
+     * Picks one of the legal moves at random.
+     * 
+     * @param board the current board state
+     * @return the packed move
+     */
+    @Override
+    public int chooseMove(Board board) {
+        legalMoves.clear();
+        board.generateLegalMoves(isWhite(), legalMoves);
+        return legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+}
@@ -0,0 +1,49 @@
+package game;
+
+/**
+ * The reason a game ended.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public enum Termination {
+    /** The side to move is checkmated. */
+    CHECKMATE("checkmate"),
+    /** The side to move has no legal move but is not in check. */
+    STALEMATE("stalemate"),
+    /** No pawn has moved and nothing has been captured for fifty moves. */
+    FIFTY_MOVE_RULE("fifty-move rule"),
+    /** The same position has occurred three times. */
+    THREEFOLD_REPETITION("threefold repetition"),
+    /** Neither side has enough material left to checkmate. */
+    INSUFFICIENT_MATERIAL("insufficient material"),
+    /** The game reached the move limit set with {@link Game#setMaxMoves(int)}. */
+    MOVE_LIMIT("move limit"),
+    /** A player ran out of time on the clock. */
+    TIME_FORFEIT("time forfeit"),
+    /** A player left the game instead of moving. */
+    ABANDONED("abandoned"),
+    /** The result was declared with {@link Game#end(Player)}. */
+    ADJUDICATION("adjudication");
+
+    private final String description;
+
+    /**
+     * Constructor for Termination enum.
+     * 
+     * @param description the reason in words
+     */
+    Termination(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the reason in words.
+     * 
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
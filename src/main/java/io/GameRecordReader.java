@@ -0,0 +1,263 @@
+package io;
+
+import board.Bitboard;
+import board.Board;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import pieces.Move;
+import pieces.Piece;
+
+/**
+ * Random-access reader for game record files written by
+ * {@link GameRecordWriter}.
+ * 
+ * <p>The whole file is memory-mapped, so opening it costs only the header
+ * check, and any game can be reached directly through the offset index
+ * without reading the games before it. Moves are stored without their
+ * flags; they are rebuilt from the pieces on the board while the game is
+ * replayed. Each rebuilt move is then checked with
+ * {@link Board#isLegalMove(int)}, so a corrupt file fails with an
+ * {@link IOException} rather than corrupting the board. The check
+ * generates the legal moves of the moving piece and makes replaying
+ * several times slower than trusting the stored moves would be. Files
+ * larger than 2 GB are not supported.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class GameRecordReader implements AutoCloseable {
+    /** Size of the file header in bytes. */
+    static final int HEADER_SIZE = 20;
+    /** Magic number at the start of every game record file ("CGRF"). */
+    static final int MAGIC = 0x43475246;
+    /** Version of the format written by {@link GameRecordWriter}. */
+    static final short VERSION = 1;
+    /** Game results by the code stored in the record flags. */
+    static final String[] RESULTS = {"*", "1-0", "0-1", "1/2-1/2"};
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int gameCount;
+    private final int indexOffset;
+    private final Board board;
+
+    /**
+     * Constructor for GameRecordReader class.
+     * 
+     * @param path the game record file
+     * @throws IOException if the file cannot be read or is not a game record file
+     */
+    public GameRecordReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Game record file too large: " + size + " bytes");
+            }
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a game record file: " + path);
+            }
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException("Not a game record file: " + path);
+            }
+            if (data.getShort(4) != VERSION) {
+                throw new IOException("Unsupported game record version: " + data.getShort(4));
+            }
+            this.gameCount = data.getInt(8);
+            long index = data.getLong(12);
+            if (gameCount < 0 || index < HEADER_SIZE || index + 8L * gameCount > size) {
+                throw new IOException("Corrupt game record index: " + path);
+            }
+            this.indexOffset = (int) index;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.board = new Board();
+    }
+
+    /**
+     * Gets the number of games in the file.
+     * 
+     * @return the game count
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Gets the size of the file.
+     * 
+     * @return the size in bytes
+     */
+    public long getSize() {
+        return data.capacity();
+    }
+
+    /**
+     * Gets the file offset of a game record.
+     * 
+     * @param game the game number, from 0
+     * @return the offset of the record
+     * @throws IndexOutOfBoundsException if there is no such game
+     */
+    private int offset(int game) {
+        if (game < 0 || game >= gameCount) {
+            throw new IndexOutOfBoundsException("Game " + game + " of " + gameCount);
+        }
+        return (int) data.getLong(indexOffset + 8 * game);
+    }
+
+    /**
+     * Gets the number of moves of a game.
+     * 
+     * @param game the game number, from 0
+     * @return the number of halfmoves
+     */
+    public int getMoveCount(int game) {
+        return data.getShort(offset(game) + 1) & 0xFFFF;
+    }
+
+    /**
+     * Gets the result of a game.
+     * 
+     * @param game the game number, from 0
+     * @return "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    public String getResult(int game) {
+        return RESULTS[(data.get(offset(game)) >>> 1) & 3];
+    }
+
+    /**
+     * Gets the starting position of a game.
+     * 
+     * @param game the game number, from 0
+     * @return the starting position in FEN
+     */
+    public String getStartFen(int game) {
+        int offset = offset(game);
+        if ((data.get(offset) & 1) == 0) {
+            return PgnReader.START_FEN;
+        }
+        byte[] fen = new byte[data.getShort(offset + 3) & 0xFFFF];
+        data.get(offset + 5, fen);
+        return new String(fen, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Sets up a board with the starting position of a game and plays all of
+     * its moves on it, so the board's move history holds the game.
+     * 
+     * @param game the game number, from 0
+     * @param board the board to replay the game on
+     * @return the number of moves played
+     * @throws IOException if the stored start position or a stored move is corrupt
+     */
+    public int replay(int game, Board board) throws IOException {
+        return replay(game, board, null);
+    }
+
+    /**
+     * Reads a game, replaying it to rebuild the full packed moves.
+     * 
+     * @param game the game number, from 0
+     * @return the game, with no tag pairs
+     * @throws IOException if the stored start position or a stored move is corrupt
+     */
+    public PgnGame read(int game) throws IOException {
+        int[] moves = new int[getMoveCount(game)];
+        replay(game, board, moves);
+        return new PgnGame(Collections.emptyMap(), getStartFen(game), moves, getResult(game), null);
+    }
+
+    /**
+     * Replays a game on a board, optionally keeping its packed moves.
+     * 
+     * @param game the game number, from 0
+     * @param board the board to replay the game on
+     * @param moves the array to store the packed moves in, or null
+     * @return the number of moves played
+     * @throws IOException if the stored start position is not a valid FEN or
+     *         a stored move is not legal in its position
+     */
+    private int replay(int game, Board board, int[] moves) throws IOException {
+        int offset = offset(game);
+        int flags = data.get(offset);
+        int count = data.getShort(offset + 1) & 0xFFFF;
+        offset += 3;
+        if ((flags & 1) != 0) {
+            byte[] fen = new byte[data.getShort(offset) & 0xFFFF];
+            data.get(offset + 2, fen);
+            try {
+                board.loadFen(new String(fen, StandardCharsets.US_ASCII));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt start position in game " + game, e);
+            }
+            offset += 2 + fen.length;
+        } else {
+            board.loadFen(PgnReader.START_FEN);
+        }
+        for (int i = 0; i < count; i++, offset += 2) {
+            int move = decodeMove(board, data.getShort(offset) & 0xFFFF);
+            if (move == Move.NONE || !board.isLegalMove(move)) {
+                throw new IOException("Corrupt move " + (i + 1) + " in game " + game);
+            }
+            board.makeMove(move);
+            if (moves != null) {
+                moves[i] = move;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Rebuilds a packed move from its 16-bit form, taking the capture,
+     * castling, double push and en passant flags from the board.
+     * 
+     * @param board the position the move is played in
+     * @param stored the 16-bit move (see {@link GameRecordWriter#encodeMove(int)})
+     * @return the packed move, or {@link Move#NONE} if the side to move has
+     *         no piece on the starting square
+     */
+    public static int decodeMove(Board board, int stored) {
+        int from = stored & 0x3F;
+        int to = (stored >>> 6) & 0x3F;
+        int promotion = stored >>> 12;
+        boolean white = board.isWhiteToMove();
+        long fromBit = Bitboard.bit(from);
+        if ((board.getOccupancy(white) & fromBit) == 0 || promotion > 4) {
+            return Move.NONE;
+        }
+        boolean capture = (board.getOccupancy() & Bitboard.bit(to)) != 0;
+        if (promotion != 0) {
+            return Move.encodePromotion(from, to, Piece.KNIGHT + promotion - 1, capture);
+        }
+        if ((board.getPieceBitboard(Piece.PAWN, white) & fromBit) != 0) {
+            if (Math.abs(to - from) == 16) {
+                return Move.encode(from, to, Move.DOUBLE_PAWN_PUSH);
+            }
+            if (!capture && Bitboard.column(from) != Bitboard.column(to)) {
+                return Move.encode(from, to, Move.EN_PASSANT);
+            }
+        } else if ((board.getPieceBitboard(Piece.KING, white) & fromBit) != 0 && Math.abs(to - from) == 2) {
+            return Move.encode(from, to, to > from ? Move.KING_CASTLE : Move.QUEEN_CASTLE);
+        }
+        return Move.encode(from, to, capture ? Move.CAPTURE : Move.QUIET);
+    }
+
+    /**
+     * Closes the file. The mapping stays valid until it is garbage collected.
+     * 
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,202 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import pieces.Move;
+import pieces.Piece;
+
+/**
+ * Writer for the compact binary game record format read by
+ * {@link GameRecordReader}.
+ * 
+ * <p>The file starts with a fixed header (magic number, format version,
+ * game count and the offset of the index), followed by one record per game
+ * and finally the index: one 8-byte file offset per game. Each game record
+ * holds a flags byte (bit 0 set when the game has its own starting
+ * position, bits 1-2 the result), the number of moves as an unsigned
+ * 16-bit value, the starting FEN when there is one, and then one 16-bit
+ * value per move. A move keeps only what a player supplies: bits 0-5 the
+ * starting square, bits 6-11 the destination square and bits 12-14 the
+ * promotion piece (0 for none, 1-4 for knight to queen). All values are
+ * big-endian.
+ * 
+ * <p>Records are written through a fixed buffer, and the header and index
+ * are written when the writer is closed.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class GameRecordWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long[] offsets;
+    private int gameCount;
+    private long position;
+
+    /**
+     * Constructor for GameRecordWriter class. An existing file is replaced.
+     * 
+     * @param path the file to write
+     * @throws IOException if the file cannot be created
+     */
+    public GameRecordWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.offsets = new long[1024];
+        this.position = GameRecordReader.HEADER_SIZE;
+        channel.position(position);
+    }
+
+    /**
+     * Packs a move into the 16-bit form stored in game records.
+     * 
+     * @param move the packed move (see {@link Move})
+     * @return the 16-bit move
+     */
+    public static int encodeMove(int move) {
+        int promotion = Move.isPromotion(move) ? Move.promotionType(move) - Piece.KNIGHT + 1 : 0;
+        return Move.from(move) | (Move.to(move) << 6) | (promotion << 12);
+    }
+
+    /**
+     * Appends a game read from a PGN file. A game with an error is written
+     * with the moves before the error.
+     * 
+     * @param game the game
+     * @throws IOException if the file cannot be written
+     */
+    public void write(PgnGame game) throws IOException {
+        write(game.getStartFen(), game.getMoves(), game.getResult());
+    }
+
+    /**
+     * Appends a game.
+     * 
+     * @param startFen the starting position in FEN
+     * @param moves the packed moves played from the starting position
+     * @param result the game result ("1-0", "0-1", "1/2-1/2" or "*")
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the game has more than 65535 moves
+     */
+    public void write(String startFen, int[] moves, String result) throws IOException {
+        if (moves.length > 0xFFFF) {
+            throw new IllegalArgumentException("Too many moves in one game: " + moves.length);
+        }
+        byte[] fen = startFen.equals(PgnReader.START_FEN) ? null : startFen.getBytes(StandardCharsets.US_ASCII);
+        if (gameCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, gameCount * 2);
+        }
+        offsets[gameCount++] = position;
+        
+        ensureSpace(3);
+        buffer.put((byte) ((fen != null ? 1 : 0) | (resultCode(result) << 1)));
+        buffer.putShort((short) moves.length);
+        if (fen != null) {
+            ensureSpace(2 + fen.length);
+            buffer.putShort((short) fen.length);
+            buffer.put(fen);
+        }
+        for (int move : moves) {
+            ensureSpace(2);
+            buffer.putShort((short) encodeMove(move));
+        }
+        position += 3 + (fen != null ? 2 + fen.length : 0) + 2L * moves.length;
+    }
+
+    /**
+     * Gets the code stored for a game result.
+     * 
+     * @param result the game result
+     * @return the index of the result in {@link GameRecordReader#RESULTS}, 0 if unknown
+     */
+    private static int resultCode(String result) {
+        for (int i = 1; i < GameRecordReader.RESULTS.length; i++) {
+            if (GameRecordReader.RESULTS[i].equals(result)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Flushes the buffer if it cannot hold the given number of bytes.
+     * 
+     * @param bytes the number of bytes about to be written
+     * @throws IOException if the file cannot be written
+     */
+    private void ensureSpace(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     * 
+     * @throws IOException if the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gets the number of games written so far.
+     * 
+     * @return the game count
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Gets the size of the file written so far, not counting the index.
+     * 
+     * @return the size in bytes
+     */
+    public long getBytesWritten() {
+        return position;
+    }
+
+    /**
+     * Writes the index and the header and closes the file.
+     * 
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = position;
+            for (int i = 0; i < gameCount; i++) {
+                ensureSpace(8);
+                buffer.putLong(offsets[i]);
+            }
+            flush();
+            
+            ByteBuffer header = ByteBuffer.allocate(GameRecordReader.HEADER_SIZE);
+            header.putInt(GameRecordReader.MAGIC);
+            header.putShort(GameRecordReader.VERSION);
+            header.putShort((short) 0);
+            header.putInt(gameCount);
+            header.putLong(indexOffset);
+            header.flip();
+            long headerPosition = 0;
+            while (header.hasRemaining()) {
+                headerPosition += channel.write(header, headerPosition);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One game read from a PGN file: its tag pairs, its moves resolved to packed
+ * moves (see {@link pieces.Move}) and its result.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class PgnGame {
+    private final Map<String, String> tags;
+    private final String startFen;
+    private final int[] moves;
+    private final String result;
+    private final String error;
+
+    /**
+     * Constructor for PgnGame class.
+     * 
+     * @param tags the tag pairs in file order
+     * @param startFen the starting position in FEN
+     * @param moves the packed moves played from the starting position
+     * @param result the game result ("1-0", "0-1", "1/2-1/2" or "*")
+     * @param error a description of the first move that could not be read, or null if all moves were read
+     */
+    public PgnGame(Map<String, String> tags, String startFen, int[] moves, String result, String error) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.startFen = startFen;
+        this.moves = moves;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * Gets the tag pairs of the game, such as "White", "Black" and "Event".
+     * 
+     * @return the read-only tag map, in file order
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gets the value of one tag pair.
+     * 
+     * @param name the tag name
+     * @return the tag value, or null if the game has no such tag
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * Gets the position the game starts from: the "FEN" tag if there is
+     * one, the standard starting position otherwise.
+     * 
+     * @return the starting position in FEN
+     */
+    public String getStartFen() {
+        return startFen;
+    }
+
+    /**
+     * Gets the moves of the game. If the game has an error, these are the
+     * moves before it.
+     * 
+     * @return the packed moves; the array must not be modified
+     */
+    public int[] getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the number of moves read.
+     * 
+     * @return the number of halfmoves
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Gets the game result from the movetext, or from the "Result" tag if
+     * the movetext has none.
+     * 
+     * @return "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the reason the game could not be read completely.
+     * 
+     * @return the error description, or null if every move was read
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Checks if every move of the game was read.
+     * 
+     * @return true if the game has no error, false otherwise
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,347 @@
+package io;
+
+import board.Board;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import pieces.Move;
+import pieces.MoveList;
+
+/**
+ * Streaming reader for PGN files of any size.
+ * 
+ * <p>The file is read through a {@link FileChannel} into a fixed direct
+ * buffer and scanned byte by byte, and {@link #next()} returns one game at
+ * a time, so memory use depends only on the longest game, not on the file.
+ * Each game is replayed on a board while it is read: every SAN move is
+ * resolved against the legal moves of the position (see {@link San}), so a
+ * game that is returned without error is known to be legal.
+ * 
+ * <p>Comments, variations, numeric annotation glyphs, move numbers and
+ * unmatched closing braces or parentheses are skipped. A game with an
+ * unreadable or illegal move is still returned, with the moves before it
+ * and an error description, and reading carries on with the next game.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class PgnReader implements AutoCloseable {
+    /** FEN of the standard starting position, used when a game has no FEN tag. */
+    public static final String START_FEN = Board.START_FEN;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int NO_BYTE = -2;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final Board board;
+    private final MoveList legalMoves;
+    private final char[] token;
+    private byte[] tagBytes;
+    private int[] moves;
+    private int pushedBack;
+    private long gamesRead;
+
+    /**
+     * Constructor for PgnReader class.
+     * 
+     * @param path the PGN file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public PgnReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.flip();
+        this.board = new Board();
+        this.legalMoves = new MoveList();
+        this.token = new char[MAX_TOKEN_LENGTH];
+        this.tagBytes = new byte[256];
+        this.moves = new int[256];
+        this.pushedBack = NO_BYTE;
+    }
+
+    /**
+     * Reads the next game.
+     * 
+     * @return the game, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public PgnGame next() throws IOException {
+        int c = skipWhitespace();
+        if (c < 0) {
+            return null;
+        }
+        
+        Map<String, String> tags = new LinkedHashMap<>();
+        while (c == '[') {
+            readTag(tags);
+            c = skipWhitespace();
+        }
+        
+        String startFen = tags.getOrDefault("FEN", START_FEN);
+        String error = null;
+        try {
+            board.loadFen(startFen);
+        } catch (IllegalArgumentException e) {
+            error = "Invalid FEN tag: " + e.getMessage();
+        }
+        
+        int count = 0;
+        String result = null;
+        while (c >= 0 && c != '[') {
+            if (c == '{') {
+                skipPast('}');
+            } else if (c == ';') {
+                skipPast('\n');
+            } else if (c == '(') {
+                skipVariation();
+            } else {
+                int length = readToken(c);
+                if (isResult(length)) {
+                    result = new String(token, 0, length);
+                    break;
+                }
+                if (error == null && c != '$') {
+                    int start = skipMoveNumber(length);
+                    if (start < length) {
+                        System.arraycopy(token, start, token, 0, length - start);
+                        int move = San.parse(board, token, length - start, legalMoves);
+                        if (move == Move.NONE) {
+                            error = "Illegal or ambiguous move '" + new String(token, 0, length - start)
+                                    + "' at ply " + (count + 1);
+                        } else {
+                            board.makeMove(move);
+                            if (count == moves.length) {
+                                moves = Arrays.copyOf(moves, count * 2);
+                            }
+                            moves[count++] = move;
+                        }
+                    }
+                }
+            }
+            c = skipWhitespace();
+        }
+        if (c == '[') {
+            pushedBack = c;
+        }
+        if (result == null) {
+            result = tags.getOrDefault("Result", "*");
+        }
+        
+        gamesRead++;
+        return new PgnGame(tags, startFen, Arrays.copyOf(moves, count), result, error);
+    }
+
+    /**
+     * Reads one tag pair such as {@code [White "Kasparov, Garry"]}, after
+     * its opening bracket.
+     * 
+     * @param tags the map to add the tag to
+     * @throws IOException if the file cannot be read
+     */
+    private void readTag(Map<String, String> tags) throws IOException {
+        int c = skipWhitespace();
+        StringBuilder name = new StringBuilder();
+        while (c > ' ' && c != '"' && c != ']') {
+            name.append((char) c);
+            c = read();
+        }
+        while (c >= 0 && c != '"' && c != ']' && c != '\n') {
+            c = read();
+        }
+        
+        int length = 0;
+        if (c == '"') {
+            for (c = read(); c >= 0 && c != '"' && c != '\n'; c = read()) {
+                if (c == '\\') {
+                    c = read();
+                }
+                if (length == tagBytes.length) {
+                    tagBytes = Arrays.copyOf(tagBytes, length * 2);
+                }
+                tagBytes[length++] = (byte) c;
+            }
+        }
+        while (c >= 0 && c != ']' && c != '\n') {
+            c = read();
+        }
+        tags.put(name.toString(), new String(tagBytes, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a movetext token into the token buffer, stopping before
+     * whitespace or the start of a comment or variation. Characters beyond
+     * the buffer size are dropped. A stray closing brace or parenthesis,
+     * with no comment or variation open, is read as an empty token and
+     * dropped, so that reading moves on past it.
+     * 
+     * @param first the first character of the token
+     * @return the token length
+     * @throws IOException if the file cannot be read
+     */
+    private int readToken(int first) throws IOException {
+        int length = 0;
+        int c = first;
+        while (c > ' ' && c != '{' && c != '}' && c != '(' && c != ')' && c != ';' && c != '[') {
+            if (length < token.length) {
+                token[length++] = (char) c;
+            }
+            c = read();
+        }
+        if (c > ' ' && length > 0) {
+            pushedBack = c;
+        }
+        return length;
+    }
+
+    /**
+     * Finds where the move starts in a token such as "12.", "12...Nf6" or
+     * "e4".
+     * 
+     * @param length the token length
+     * @return the index of the move, or the length if the token is only a move number
+     */
+    private int skipMoveNumber(int length) {
+        int index = 0;
+        while (index < length && token[index] >= '0' && token[index] <= '9') {
+            index++;
+        }
+        if (index == 0 || index == length || token[index] != '.') {
+            return index == length ? length : 0;
+        }
+        while (index < length && token[index] == '.') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Checks if the token buffer holds a game termination marker.
+     * 
+     * @param length the token length
+     * @return true for "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    private boolean isResult(int length) {
+        switch (length) {
+            case 1:
+                return token[0] == '*';
+            case 3:
+                return (token[0] == '1' && token[1] == '-' && token[2] == '0')
+                        || (token[0] == '0' && token[1] == '-' && token[2] == '1');
+            case 7:
+                return new String(token, 0, 7).equals("1/2-1/2");
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Skips a variation after its opening parenthesis, including nested
+     * variations and comments inside it.
+     * 
+     * @throws IOException if the file cannot be read
+     */
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c < 0) {
+                return;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipPast('}');
+            } else if (c == ';') {
+                skipPast('\n');
+            }
+        }
+    }
+
+    /**
+     * Skips input up to and including a character.
+     * 
+     * @param end the character to stop after
+     * @throws IOException if the file cannot be read
+     */
+    private void skipPast(int end) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && c != end);
+    }
+
+    /**
+     * Skips whitespace.
+     * 
+     * @return the first other character, or -1 at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && c <= ' ');
+        return c;
+    }
+
+    /**
+     * Reads the next byte, refilling the buffer from the channel as needed.
+     * 
+     * @return the byte as an unsigned value, or -1 at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private int read() throws IOException {
+        if (pushedBack != NO_BYTE) {
+            int c = pushedBack;
+            pushedBack = NO_BYTE;
+            return c;
+        }
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int count = channel.read(buffer);
+            buffer.flip();
+            if (count <= 0) {
+                return -1;
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Gets the number of games returned so far.
+     * 
+     * @return the game count
+     */
+    public long getGamesRead() {
+        return gamesRead;
+    }
+
+    /**
+     * Gets the number of bytes of the file consumed so far.
+     * 
+     * @return the byte count
+     * @throws IOException if the file position cannot be read
+     */
+    public long getBytesRead() throws IOException {
+        return channel.position() - buffer.remaining();
+    }
+
+    /**
+     * Closes the file.
+     * 
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,247 @@
+package io;
+
+import board.Bitboard;
+import board.Board;
+import pieces.Move;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * Conversion between packed moves and Standard Algebraic Notation (SAN),
+ * the move format of PGN files (e.g. "Nf3", "exd5", "O-O", "e8=Q+").
+ * A SAN move only makes sense in a position, so both directions work
+ * against the legal moves of a board.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class San {
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private San() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Resolves a SAN move against the legal moves of the side to move.
+     * 
+     * @param board the position the move is played in
+     * @param san the move in SAN
+     * @return the packed move, or {@link Move#NONE} if the text matches no legal move or more than one
+     */
+    public static int parse(Board board, String san) {
+        return parse(board, san.toCharArray(), san.length(), new MoveList());
+    }
+
+    /**
+     * Resolves a SAN move held in a character buffer against the legal
+     * moves of the side to move. Check and annotation suffixes such as
+     * "+", "#" and "!?" are ignored, and castling may be written with
+     * zeros. Nothing is allocated.
+     * 
+     * @param board the position the move is played in
+     * @param text the buffer holding the move
+     * @param length the number of characters of the move
+     * @param moves a buffer for the legal moves, which is overwritten
+     * @return the packed move, or {@link Move#NONE} if the text matches no legal move or more than one
+     */
+    public static int parse(Board board, char[] text, int length, MoveList moves) {
+        while (length > 0 && isSuffix(text[length - 1])) {
+            length--;
+        }
+        if (length < 2) {
+            return Move.NONE;
+        }
+        moves.clear();
+        board.generateLegalMoves(board.isWhiteToMove(), moves);
+        
+        if (text[0] == 'O' || text[0] == '0') {
+            int flag;
+            if (length == 3 && text[1] == '-' && text[2] == text[0]) {
+                flag = Move.KING_CASTLE;
+            } else if (length == 5 && text[1] == '-' && text[2] == text[0] && text[3] == '-' && text[4] == text[0]) {
+                flag = Move.QUEEN_CASTLE;
+            } else {
+                return Move.NONE;
+            }
+            for (int i = 0; i < moves.size(); i++) {
+                if (Move.flags(moves.get(i)) == flag) {
+                    return moves.get(i);
+                }
+            }
+            return Move.NONE;
+        }
+        
+        int start = 0;
+        int type = Piece.PAWN;
+        int letter = pieceType(text[0]);
+        if (letter >= 0) {
+            type = letter;
+            start = 1;
+        }
+        
+        // Promotion suffix, "=Q" or just "Q"
+        int promotion = -1;
+        int end = length;
+        if (type == Piece.PAWN) {
+            int promoted = pieceType(text[end - 1]);
+            if (promoted > Piece.PAWN && promoted < Piece.KING) {
+                promotion = promoted;
+                end--;
+                if (end > 0 && text[end - 1] == '=') {
+                    end--;
+                }
+            }
+        }
+        if (end - start < 2) {
+            return Move.NONE;
+        }
+        
+        int file = text[end - 2] - 'a';
+        int rank = text[end - 1] - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            return Move.NONE;
+        }
+        int to = Bitboard.square(7 - rank, file);
+        
+        // Disambiguation: a file, a rank or both, ignoring the capture sign
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = text[i];
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return Move.NONE;
+            }
+        }
+        
+        long pieces = board.getPieceBitboard(type, board.isWhiteToMove());
+        int match = Move.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = Move.from(move);
+            if (Move.to(move) != to || (pieces & Bitboard.bit(from)) == 0 || Move.isCastle(move)
+                    || (fromFile >= 0 && Bitboard.column(from) != fromFile)
+                    || (fromRank >= 0 && 7 - Bitboard.row(from) != fromRank)) {
+                continue;
+            }
+            if (Move.isPromotion(move) ? Move.promotionType(move) != promotion : promotion >= 0) {
+                continue;
+            }
+            if (match != Move.NONE) {
+                return Move.NONE; // Ambiguous
+            }
+            match = move;
+        }
+        return match;
+    }
+
+    /**
+     * Checks if a character is part of a check or annotation suffix.
+     * 
+     * @param c the character
+     * @return true for '+', '#', '!' and '?'
+     */
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    /**
+     * Gets the piece type of an upper-case SAN piece letter.
+     * 
+     * @param c the character
+     * @return the piece type index, or -1 if the character is not a piece letter
+     */
+    private static int pieceType(char c) {
+        switch (c) {
+            case 'P':
+                return Piece.PAWN;
+            case 'N':
+                return Piece.KNIGHT;
+            case 'B':
+                return Piece.BISHOP;
+            case 'R':
+                return Piece.ROOK;
+            case 'Q':
+                return Piece.QUEEN;
+            case 'K':
+                return Piece.KING;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Writes a legal move in SAN, with the shortest disambiguation and a
+     * "+" or "#" suffix for check or mate.
+     * 
+     * @param board the position the move is played in; it is left unchanged
+     * @param move the packed move
+     * @return the move in SAN
+     */
+    public static String format(Board board, int move) {
+        StringBuilder san = new StringBuilder(8);
+        int from = Move.from(move);
+        int to = Move.to(move);
+        boolean white = board.isWhiteToMove();
+        
+        if (Move.flags(move) == Move.KING_CASTLE) {
+            san.append("O-O");
+        } else if (Move.flags(move) == Move.QUEEN_CASTLE) {
+            san.append("O-O-O");
+        } else {
+            int type = Piece.PAWN;
+            while ((board.getPieceBitboard(type, white) & Bitboard.bit(from)) == 0) {
+                type++;
+            }
+            MoveList moves = new MoveList();
+            board.generateLegalMoves(white, moves);
+            
+            if (type == Piece.PAWN) {
+                if (Move.isCapture(move)) {
+                    san.append((char) ('a' + Bitboard.column(from)));
+                }
+            } else {
+                san.append(PIECE_LETTERS.charAt(type));
+                boolean ambiguous = false;
+                boolean sameFile = false;
+                boolean sameRank = false;
+                for (int i = 0; i < moves.size(); i++) {
+                    int other = Move.from(moves.get(i));
+                    if (other != from && Move.to(moves.get(i)) == to
+                            && (board.getPieceBitboard(type, white) & Bitboard.bit(other)) != 0) {
+                        ambiguous = true;
+                        sameFile |= Bitboard.column(other) == Bitboard.column(from);
+                        sameRank |= Bitboard.row(other) == Bitboard.row(from);
+                    }
+                }
+                if (ambiguous && (!sameFile || sameRank)) {
+                    san.append((char) ('a' + Bitboard.column(from)));
+                }
+                if (ambiguous && sameFile) {
+                    san.append((char) ('8' - Bitboard.row(from)));
+                }
+            }
+            if (Move.isCapture(move)) {
+                san.append('x');
+            }
+            san.append((char) ('a' + Bitboard.column(to))).append((char) ('8' - Bitboard.row(to)));
+            if (Move.isPromotion(move)) {
+                san.append('=').append(PIECE_LETTERS.charAt(Move.promotionType(move)));
+            }
+        }
+        
+        board.makeMove(move);
+        if (board.isCheck(board.isWhiteToMove())) {
+            san.append(board.hasLegalMoves(board.isWhiteToMove()) ? '+' : '#');
+        }
+        board.unmakeMove();
+        return san.toString();
+    }
+}
@@ -0,0 +1,246 @@
+package pieces;
+
+import board.Bitboard;
+
+/**
+ * Precomputed attack bitboards for every piece type and square.
+ * 
+ * <p>Knight, king and pawn attacks are plain per-square lookups. Sliding
+ * pieces use precomputed rays: each of the eight directions has a ray mask
+ * per square, and the ray is cut short at the first blocker found with a
+ * single bit scan, so no board geometry is worked out while generating moves.
+ * 
+ * <p>Two square-pair tables support pin and check detection: the squares
+ * strictly between two aligned squares, and the full line through them.
+ * 
+ * <p>The tables are built once when the class is loaded; the time it took is
+ * available from {@link #getInitializationNanos()}.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class AttackTables {
+    // Ray directions as {row, column} steps. The first four move towards
+    // higher square indices, the last four towards lower ones.
+    private static final int[][] DIRECTIONS = {
+        {1, 0}, {0, 1}, {1, 1}, {1, -1},    // South, East, South-East, South-West
+        {-1, 0}, {0, -1}, {-1, -1}, {-1, 1}  // North, West, North-West, North-East
+    };
+
+    private static final int[][] KNIGHT_OFFSETS = {
+        {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2},
+        {1, -2}, {1, 2}, {2, -1}, {2, 1}
+    };
+    private static final int[][] KING_OFFSETS = {
+        {-1, -1}, {-1, 0}, {-1, 1},
+        {0, -1},           {0, 1},
+        {1, -1},  {1, 0},  {1, 1}
+    };
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] PAWN_PUSHES = new long[2][64];
+    private static final long[][] RAYS = new long[DIRECTIONS.length][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+    private static final long INITIALIZATION_NANOS;
+
+    static {
+        long start = System.nanoTime();
+        for (int square = 0; square < 64; square++) {
+            int row = Bitboard.row(square);
+            int col = Bitboard.column(square);
+
+            KNIGHT_ATTACKS[square] = offsetMask(row, col, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = offsetMask(row, col, KING_OFFSETS);
+
+            // White pawns move towards row 0, black pawns towards row 7
+            PAWN_ATTACKS[0][square] = offsetMask(row, col, new int[][] {{-1, -1}, {-1, 1}});
+            PAWN_ATTACKS[1][square] = offsetMask(row, col, new int[][] {{1, -1}, {1, 1}});
+            PAWN_PUSHES[0][square] = offsetMask(row, col, new int[][] {{-1, 0}});
+            PAWN_PUSHES[1][square] = offsetMask(row, col, new int[][] {{1, 0}});
+
+            for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+                long ray = 0;
+                int newRow = row + DIRECTIONS[dir][0];
+                int newCol = col + DIRECTIONS[dir][1];
+                while (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
+                    ray |= Bitboard.bit(Bitboard.square(newRow, newCol));
+                    newRow += DIRECTIONS[dir][0];
+                    newCol += DIRECTIONS[dir][1];
+                }
+                RAYS[dir][square] = ray;
+            }
+        }
+        for (int from = 0; from < 64; from++) {
+            for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+                int opposite = dir < 4 ? dir + 4 : dir - 4;
+                for (long ray = RAYS[dir][from]; ray != 0; ray &= ray - 1) {
+                    int to = Long.numberOfTrailingZeros(ray);
+                    BETWEEN[from][to] = RAYS[dir][from] & RAYS[opposite][to];
+                    LINE[from][to] = RAYS[dir][from] | RAYS[opposite][from] | Bitboard.bit(from);
+                }
+            }
+        }
+        INITIALIZATION_NANOS = System.nanoTime() - start;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private AttackTables() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Builds the mask of squares reachable from a square by fixed offsets.
+     * 
+     * @param row the row of the starting square
+     * @param col the column of the starting square
+     * @param offsets the {row, column} offsets
+     * @return the bitboard of on-board destination squares
+     */
+    private static long offsetMask(int row, int col, int[][] offsets) {
+        long mask = 0;
+        for (int[] offset : offsets) {
+            int newRow = row + offset[0];
+            int newCol = col + offset[1];
+            if (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
+                mask |= Bitboard.bit(Bitboard.square(newRow, newCol));
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the squares attacked along one ray, up to and including the first
+     * occupied square.
+     * 
+     * @param dir the direction index
+     * @param square the starting square index
+     * @param occupied the bitboard of occupied squares
+     * @return the bitboard of attacked squares along the ray
+     */
+    private static long rayAttacks(int dir, int square, long occupied) {
+        long attacks = RAYS[dir][square];
+        long blockers = attacks & occupied;
+        if (blockers != 0) {
+            int blocker = dir < 4
+                    ? Long.numberOfTrailingZeros(blockers)
+                    : 63 - Long.numberOfLeadingZeros(blockers);
+            attacks ^= RAYS[dir][blocker];
+        }
+        return attacks;
+    }
+
+    /**
+     * Gets the squares a knight attacks.
+     * 
+     * @param square the knight's square index
+     * @return the bitboard of attacked squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares a king attacks.
+     * 
+     * @param square the king's square index
+     * @return the bitboard of attacked squares
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares a pawn attacks diagonally.
+     * 
+     * @param square the pawn's square index
+     * @param isWhite true for a white pawn, false for a black pawn
+     * @return the bitboard of attacked squares
+     */
+    public static long pawnAttacks(int square, boolean isWhite) {
+        return PAWN_ATTACKS[isWhite ? 0 : 1][square];
+    }
+
+    /**
+     * Gets the square one step in front of a pawn.
+     * 
+     * @param square the pawn's square index
+     * @param isWhite true for a white pawn, false for a black pawn
+     * @return a bitboard holding the square in front, or empty on the last row
+     */
+    public static long pawnPushes(int square, boolean isWhite) {
+        return PAWN_PUSHES[isWhite ? 0 : 1][square];
+    }
+
+    /**
+     * Gets the squares a rook attacks given the board occupancy.
+     * 
+     * @param square the rook's square index
+     * @param occupied the bitboard of occupied squares
+     * @return the bitboard of attacked squares
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return rayAttacks(0, square, occupied) | rayAttacks(1, square, occupied)
+                | rayAttacks(4, square, occupied) | rayAttacks(5, square, occupied);
+    }
+
+    /**
+     * Gets the squares a bishop attacks given the board occupancy.
+     * 
+     * @param square the bishop's square index
+     * @param occupied the bitboard of occupied squares
+     * @return the bitboard of attacked squares
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return rayAttacks(2, square, occupied) | rayAttacks(3, square, occupied)
+                | rayAttacks(6, square, occupied) | rayAttacks(7, square, occupied);
+    }
+
+    /**
+     * Gets the squares a queen attacks given the board occupancy.
+     * 
+     * @param square the queen's square index
+     * @param occupied the bitboard of occupied squares
+     * @return the bitboard of attacked squares
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Gets the squares strictly between two squares on the same row, column
+     * or diagonal.
+     * 
+     * @param from the first square index
+     * @param to the second square index
+     * @return the bitboard of squares between them, or empty if not aligned
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * Gets the full row, column or diagonal through two aligned squares,
+     * including both squares.
+     * 
+     * @param from the first square index
+     * @param to the second square index
+     * @return the bitboard of the line, or empty if the squares are not aligned
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * Gets the time it took to build the tables when the class was loaded.
+     * 
+     * @return the initialization time in nanoseconds
+     */
+    public static long getInitializationNanos() {
+        return INITIALIZATION_NANOS;
+    }
+}
@@ -1,8 +1,7 @@
 package pieces;
 
+import board.Bitboard;
 import board.Position;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a King piece in chess.
@@ -11,7 +10,6 @@ import java.util.List;
  * @version 1.0
  */
 public class King extends Piece {
-
     /**
      * Constructor for King class.
      * 
@@ -23,50 +21,24 @@ public class King extends Piece {
     }
 
     /**
-     * Gets all possible moves for the king.
+     * Gets the type index of the king.
      * 
-     * @param board the current board state
-     * @return a list of valid positions the king can move to
+     * @return {@link Piece#KING}
      */
     @Override
-    public List<Position> possibleMoves(Piece[][] board) {
-        List<Position> moves = new ArrayList<>();
-        
-        // King can move one square in any direction
-        int[][] directions = {
-            {-1, -1}, {-1, 0}, {-1, 1},
-            {0, -1},           {0, 1},
-            {1, -1},  {1, 0},  {1, 1}
-        };
-        
-        for (int[] direction : directions) {
-            int newRow = position.getRow() + direction[0];
-            int newCol = position.getColumn() + direction[1];
-            
-            if (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
-                Piece targetPiece = board[newRow][newCol];
-                
-                // Can move to empty square or capture enemy piece
-                if (targetPiece == null || targetPiece.isWhite() != isWhite) {
-                    moves.add(new Position(newRow, newCol));
-                }
-            }
-        }
-        
-        return moves;
+    public int getType() {
+        return KING;
     }
 
     /**
-     * Checks if a move to the given position is valid for the king.
+     * Gets the squares the king attacks.
      * 
-     * @param targetPosition the position to move to
-     * @param board the current board state
-     * @return true if the move is valid, false otherwise
+     * @param occupied the bitboard of occupied squares (not needed for the king)
+     * @return the bitboard of attacked squares
      */
     @Override
-    public boolean isValidMove(Position targetPosition, Piece[][] board) {
-        List<Position> possibleMoves = possibleMoves(board);
-        return possibleMoves.contains(targetPosition);
+    public long attacks(long occupied) {
+        return AttackTables.kingAttacks(Bitboard.square(position));
     }
 
     /**
@@ -86,7 +58,7 @@ public class King extends Piece {
      */
     @Override
     public Piece copy() {
-        King copy = new King(isWhite, new Position(position.getRow(), position.getColumn()));
+        King copy = new King(isWhite, position);
         copy.hasMoved = this.hasMoved;
         return copy;
     }
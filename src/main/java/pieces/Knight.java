@@ -1,8 +1,7 @@
 package pieces;
 
+import board.Bitboard;
 import board.Position;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a Knight piece in chess.
@@ -11,7 +10,6 @@ import java.util.List;
  * @version 1.0
  */
 public class Knight extends Piece {
-
     /**
      * Constructor for Knight class.
      * 
@@ -23,49 +21,24 @@ public class Knight extends Piece {
     }
 
     /**
-     * Gets all possible moves for the knight.
+     * Gets the type index of the knight.
      * 
-     * @param board the current board state
-     * @return a list of valid positions the knight can move to
+     * @return {@link Piece#KNIGHT}
      */
     @Override
-    public List<Position> possibleMoves(Piece[][] board) {
-        List<Position> moves = new ArrayList<>();
-        
-        // Knight moves in L-shape: 2 squares in one direction, then 1 square perpendicular
-        int[][] knightMoves = {
-            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2},
-            {1, -2}, {1, 2}, {2, -1}, {2, 1}
-        };
-        
-        for (int[] move : knightMoves) {
-            int newRow = position.getRow() + move[0];
-            int newCol = position.getColumn() + move[1];
-            
-            if (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
-                Piece targetPiece = board[newRow][newCol];
-                
-                // Can move to empty square or capture enemy piece
-                if (targetPiece == null || targetPiece.isWhite() != isWhite) {
-                    moves.add(new Position(newRow, newCol));
-                }
-            }
-        }
-        
-        return moves;
+    public int getType() {
+        return KNIGHT;
     }
 
     /**
-     * Checks if a move to the given position is valid for the knight.
+     * Gets the squares the knight attacks.
      * 
-     * @param targetPosition the position to move to
-     * @param board the current board state
-     * @return true if the move is valid, false otherwise
+     * @param occupied the bitboard of occupied squares (not needed for the knight)
+     * @return the bitboard of attacked squares
      */
     @Override
-    public boolean isValidMove(Position targetPosition, Piece[][] board) {
-        List<Position> possibleMoves = possibleMoves(board);
-        return possibleMoves.contains(targetPosition);
+    public long attacks(long occupied) {
+        return AttackTables.knightAttacks(Bitboard.square(position));
     }
 
     /**
@@ -85,7 +58,7 @@ public class Knight extends Piece {
      */
     @Override
     public Piece copy() {
-        Knight copy = new Knight(isWhite, new Position(position.getRow(), position.getColumn()));
+        Knight copy = new Knight(isWhite, position);
         copy.hasMoved = this.hasMoved;
         return copy;
     }
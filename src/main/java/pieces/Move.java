@@ -0,0 +1,183 @@
+package pieces;
+
+import board.Bitboard;
+import board.Position;
+
+/**
+ * Helper functions for moves packed into a single {@code int}.
+ * 
+ * <p>Bits 0-5 hold the starting square, bits 6-11 the destination square
+ * and bits 12-15 the move flags. Squares use the {@link Bitboard} indexing.
+ * Packed moves let move generators fill a reusable {@link MoveList}
+ * without allocating any objects.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class Move {
+    /** Value that never encodes a real move, used for "no move". */
+    public static final int NONE = 0;
+    /** Flag for a move to an empty square. */
+    public static final int QUIET = 0;
+    /** Flag for a pawn advancing two squares from its starting row. */
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    /** Flag for castling on the king's side. */
+    public static final int KING_CASTLE = 2;
+    /** Flag for castling on the queen's side. */
+    public static final int QUEEN_CASTLE = 3;
+    /** Flag bit set on every capture. */
+    public static final int CAPTURE = 4;
+    /** Flag for a pawn capturing en passant. */
+    public static final int EN_PASSANT = 5;
+    /** Flag bit set on every promotion; the low two flag bits give the piece. */
+    public static final int PROMOTION = 8;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Move() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Packs a move into an int.
+     * 
+     * @param from the starting square index (0-63)
+     * @param to the destination square index (0-63)
+     * @param flags the move flags
+     * @return the packed move
+     */
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    /**
+     * Packs a promotion move into an int.
+     * 
+     * @param from the starting square index (0-63)
+     * @param to the destination square index (0-63)
+     * @param pieceType the type to promote to ({@link Piece#KNIGHT} to {@link Piece#QUEEN})
+     * @param capture true if the promotion also captures a piece
+     * @return the packed move
+     */
+    public static int encodePromotion(int from, int to, int pieceType, boolean capture) {
+        int flags = PROMOTION | (pieceType - Piece.KNIGHT) | (capture ? CAPTURE : 0);
+        return encode(from, to, flags);
+    }
+
+    /**
+     * Gets the starting square of a move.
+     * 
+     * @param move the packed move
+     * @return the starting square index
+     */
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Gets the destination square of a move.
+     * 
+     * @param move the packed move
+     * @return the destination square index
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * Gets the flags of a move.
+     * 
+     * @param move the packed move
+     * @return the move flags
+     */
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    /**
+     * Checks if a move captures a piece.
+     * 
+     * @param move the packed move
+     * @return true if the move is a capture, false otherwise
+     */
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * Checks if a move is a castling move.
+     * 
+     * @param move the packed move
+     * @return true if the move castles, false otherwise
+     */
+    public static boolean isCastle(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * Checks if a move is an en passant capture.
+     * 
+     * @param move the packed move
+     * @return true if the move captures en passant, false otherwise
+     */
+    public static boolean isEnPassant(int move) {
+        return flags(move) == EN_PASSANT;
+    }
+
+    /**
+     * Checks if a move promotes a pawn.
+     * 
+     * @param move the packed move
+     * @return true if the move is a promotion, false otherwise
+     */
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    /**
+     * Gets the piece type a promotion move promotes to.
+     * 
+     * @param move the packed promotion move
+     * @return the promotion piece type ({@link Piece#KNIGHT} to {@link Piece#QUEEN})
+     */
+    public static int promotionType(int move) {
+        return Piece.KNIGHT + (flags(move) & 3);
+    }
+
+    /**
+     * Gets the starting position of a move.
+     * 
+     * @param move the packed move
+     * @return the starting position
+     */
+    public static Position fromPosition(int move) {
+        return Position.of(from(move));
+    }
+
+    /**
+     * Gets the destination position of a move.
+     * 
+     * @param move the packed move
+     * @return the destination position
+     */
+    public static Position toPosition(int move) {
+        return Position.of(to(move));
+    }
+
+    /**
+     * Converts a move to the "FROM TO" notation used for input (e.g. "E2 E4"),
+     * with "=Q" style suffixes for promotions.
+     * 
+     * @param move the packed move
+     * @return the move in coordinate notation
+     */
+    public static String toString(int move) {
+        String text = fromPosition(move) + " " + toPosition(move);
+        if (isPromotion(move)) {
+            text += "=" + "NBRQ".charAt(promotionType(move) - Piece.KNIGHT);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,103 @@
+package pieces;
+
+/**
+ * A reusable buffer of packed moves (see {@link Move}).
+ * Move generators append to the list, and callers clear and refill the same
+ * instance instead of allocating a new collection for every position.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class MoveList {
+    /** Default capacity, enough for every move of any reachable position. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int[] moves;
+    private int size;
+
+    /**
+     * Constructor for MoveList class with the default capacity.
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for MoveList class.
+     * 
+     * @param capacity the maximum number of moves the list can hold
+     */
+    public MoveList(int capacity) {
+        this.moves = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a move to the list.
+     * 
+     * @param move the packed move
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the move at the given index.
+     * 
+     * @param index the index (0 to size - 1)
+     * @return the packed move
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at the given index, for example to reorder the list.
+     * 
+     * @param index the index (0 to size - 1)
+     * @param move the packed move
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     * 
+     * @return the number of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     * 
+     * @return true if the list holds no moves, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all moves so the list can be refilled.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Checks if the list holds a move to the given destination square.
+     * 
+     * @param to the destination square index
+     * @return true if some move ends on that square, false otherwise
+     */
+    public boolean containsDestination(int to) {
+        for (int i = 0; i < size; i++) {
+            if (Move.to(moves[i]) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
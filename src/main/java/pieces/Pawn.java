@@ -1,8 +1,7 @@
 package pieces;
 
+import board.Bitboard;
 import board.Position;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a Pawn piece in chess.
@@ -23,58 +22,78 @@ public class Pawn extends Piece {
     }
 
     /**
-     * Gets all possible moves for the pawn.
+     * Gets the type index of the pawn.
      * 
-     * @param board the current board state
-     * @return a list of valid positions the pawn can move to
+     * @return {@link Piece#PAWN}
      */
     @Override
-    public List<Position> possibleMoves(Piece[][] board) {
-        List<Position> moves = new ArrayList<>();
-        int direction = isWhite ? -1 : 1; // White pawns move up (decreasing row), black pawns move down (increasing row)
+    public int getType() {
+        return PAWN;
+    }
+
+    /**
+     * Gets the squares the pawn attacks (its two forward diagonals).
+     * 
+     * @param occupied the bitboard of occupied squares (not needed for the pawn)
+     * @return the bitboard of attacked squares
+     */
+    @Override
+    public long attacks(long occupied) {
+        return AttackTables.pawnAttacks(Bitboard.square(position), isWhite);
+    }
+
+    /**
+     * Generates all possible moves for the pawn.
+     * Moves onto the last row are generated once for each promotion piece.
+     * 
+     * @param ownPieces the bitboard of squares occupied by this pawn's color
+     * @param allPieces the bitboard of all occupied squares
+     * @param moves the buffer to append the moves to
+     */
+    @Override
+    public void generateMoves(long ownPieces, long allPieces, MoveList moves) {
         int startRow = isWhite ? 6 : 1; // Starting row for pawns
+        int from = Bitboard.square(position);
         
         // Forward move (one square)
-        int newRow = position.getRow() + direction;
-        if (newRow >= 0 && newRow <= 7 && board[newRow][position.getColumn()] == null) {
-            moves.add(new Position(newRow, position.getColumn()));
+        long push = AttackTables.pawnPushes(from, isWhite) & ~allPieces;
+        if (push != 0) {
+            int to = Bitboard.first(push);
+            addPawnMove(from, to, false, moves);
             
             // Forward move (two squares) - only from starting position
             if (position.getRow() == startRow) {
-                newRow = position.getRow() + (2 * direction);
-                if (newRow >= 0 && newRow <= 7 && board[newRow][position.getColumn()] == null) {
-                    moves.add(new Position(newRow, position.getColumn()));
+                long doublePush = AttackTables.pawnPushes(to, isWhite) & ~allPieces;
+                if (doublePush != 0) {
+                    moves.add(Move.encode(from, Bitboard.first(doublePush), Move.DOUBLE_PAWN_PUSH));
                 }
             }
         }
         
         // Diagonal capture moves
-        for (int colOffset = -1; colOffset <= 1; colOffset += 2) {
-            int newCol = position.getColumn() + colOffset;
-            newRow = position.getRow() + direction;
-            
-            if (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
-                Piece targetPiece = board[newRow][newCol];
-                if (targetPiece != null && targetPiece.isWhite() != isWhite) {
-                    moves.add(new Position(newRow, newCol));
-                }
-            }
+        for (long captures = attacks(allPieces) & allPieces & ~ownPieces; captures != 0; captures &= captures - 1) {
+            addPawnMove(from, Bitboard.first(captures), true, moves);
         }
-        
-        return moves;
     }
 
     /**
-     * Checks if a move to the given position is valid for the pawn.
+     * Appends a single-step pawn move, expanding it into one move per
+     * promotion piece when it reaches the last row.
      * 
-     * @param targetPosition the position to move to
-     * @param board the current board state
-     * @return true if the move is valid, false otherwise
+     * @param from the starting square index
+     * @param to the destination square index
+     * @param capture true if the move captures a piece
+     * @param moves the buffer to append the moves to
      */
-    @Override
-    public boolean isValidMove(Position targetPosition, Piece[][] board) {
-        List<Position> possibleMoves = possibleMoves(board);
-        return possibleMoves.contains(targetPosition);
+    private void addPawnMove(int from, int to, boolean capture, MoveList moves) {
+        int row = Bitboard.row(to);
+        if (row == 0 || row == 7) {
+            for (int type = QUEEN; type >= KNIGHT; type--) {
+                moves.add(Move.encodePromotion(from, to, type, capture));
+            }
+        } else {
+            moves.add(Move.encode(from, to, capture ? Move.CAPTURE : Move.QUIET));
+        }
     }
 
     /**
@@ -94,7 +113,7 @@ public class Pawn extends Piece {
      */
     @Override
     public Piece copy() {
-        Pawn copy = new Pawn(isWhite, new Position(position.getRow(), position.getColumn()));
+        Pawn copy = new Pawn(isWhite, position);
         copy.hasMoved = this.hasMoved;
         return copy;
     }
@@ -1,6 +1,8 @@
 package pieces;
 
+import board.Bitboard;
 import board.Position;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,6 +13,23 @@ import java.util.List;
  * @version 1.0
  */
 public abstract class Piece {
+    /** Type index of a pawn. */
+    public static final int PAWN = 0;
+    /** Type index of a knight. */
+    public static final int KNIGHT = 1;
+    /** Type index of a bishop. */
+    public static final int BISHOP = 2;
+    /** Type index of a rook. */
+    public static final int ROOK = 3;
+    /** Type index of a queen. */
+    public static final int QUEEN = 4;
+    /** Type index of a king. */
+    public static final int KING = 5;
+    /** Number of distinct piece types. */
+    public static final int TYPE_COUNT = 6;
+    /** Most moves a single piece can have (a queen in the centre of an open board). */
+    public static final int MAX_PIECE_MOVES = 27;
+
     protected boolean isWhite;
     protected Position position;
     protected boolean hasMoved;
@@ -27,6 +46,34 @@ public abstract class Piece {
         this.hasMoved = false;
     }
 
+    /**
+     * Creates a piece of the given type.
+     * 
+     * @param type the piece type index (e.g. {@link #QUEEN})
+     * @param isWhite true if the piece is white, false if black
+     * @param position the position of the new piece
+     * @return the new piece
+     * @throws IllegalArgumentException if the type is not a valid piece type
+     */
+    public static Piece create(int type, boolean isWhite, Position position) {
+        switch (type) {
+            case PAWN:
+                return new Pawn(isWhite, position);
+            case KNIGHT:
+                return new Knight(isWhite, position);
+            case BISHOP:
+                return new Bishop(isWhite, position);
+            case ROOK:
+                return new Rook(isWhite, position);
+            case QUEEN:
+                return new Queen(isWhite, position);
+            case KING:
+                return new King(isWhite, position);
+            default:
+                throw new IllegalArgumentException("Unknown piece type: " + type);
+        }
+    }
+
     /**
      * Gets the color of the piece.
      * 
@@ -65,13 +112,96 @@ public abstract class Piece {
     }
 
     /**
-     * Abstract method to get all possible moves for this piece.
-     * Each piece type implements its own movement rules.
+     * Sets whether the piece has moved, used to restore the flag after a
+     * move has been tried and taken back.
+     * 
+     * @param hasMoved true if the piece has moved, false otherwise
+     */
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+
+    /**
+     * Gets the type index of this piece (one of {@link #PAWN}, {@link #KNIGHT},
+     * {@link #BISHOP}, {@link #ROOK}, {@link #QUEEN} or {@link #KING}).
+     * 
+     * @return the piece type index
+     */
+    public abstract int getType();
+
+    /**
+     * Abstract method to get the squares this piece attacks from its current
+     * position. Each piece type looks its attacks up in {@link AttackTables}.
+     * 
+     * @param occupied the bitboard of occupied squares, used to stop sliding pieces
+     * @return the bitboard of attacked squares
+     */
+    public abstract long attacks(long occupied);
+
+    /**
+     * Generates all possible moves for this piece, appending them to the given
+     * buffer as packed ints (see {@link Move}) so generation does not allocate.
+     * By default the piece can move to every attacked square not holding a
+     * piece of its own color; pawns override this.
+     * 
+     * @param ownPieces the bitboard of squares occupied by this piece's color
+     * @param allPieces the bitboard of all occupied squares
+     * @param moves the buffer to append the moves to
+     */
+    public void generateMoves(long ownPieces, long allPieces, MoveList moves) {
+        int from = Bitboard.square(position);
+        for (long targets = attacks(allPieces) & ~ownPieces; targets != 0; targets &= targets - 1) {
+            int to = Bitboard.first(targets);
+            moves.add(Move.encode(from, to, (allPieces & Bitboard.bit(to)) != 0 ? Move.CAPTURE : Move.QUIET));
+        }
+    }
+
+    /**
+     * Generates all possible moves for this piece from an 8x8 array of pieces.
+     * Builds the occupancy bitboards from the array and delegates to
+     * {@link #generateMoves(long, long, MoveList)}.
+     * 
+     * @param board the current board state
+     * @param moves the buffer to append the moves to
+     */
+    public void generateMoves(Piece[][] board, MoveList moves) {
+        long ownPieces = 0;
+        long allPieces = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = board[row][col];
+                if (piece != null) {
+                    long bit = Bitboard.bit(Bitboard.square(row, col));
+                    allPieces |= bit;
+                    if (piece.isWhite() == isWhite) {
+                        ownPieces |= bit;
+                    }
+                }
+            }
+        }
+        generateMoves(ownPieces, allPieces, moves);
+    }
+
+    /**
+     * Gets all possible moves for this piece as positions.
+     * Promotions are listed once per destination square.
      * 
      * @param board the current board state
      * @return a list of valid positions the piece can move to
      */
-    public abstract List<Position> possibleMoves(Piece[][] board);
+    public List<Position> possibleMoves(Piece[][] board) {
+        MoveList moves = new MoveList(MAX_PIECE_MOVES);
+        generateMoves(board, moves);
+        
+        List<Position> positions = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (!Move.isPromotion(move) || Move.promotionType(move) == QUEEN) {
+                positions.add(Move.toPosition(move));
+            }
+        }
+        return positions;
+    }
 
     /**
      * Checks if a move to the given position is valid for this piece.
@@ -80,7 +210,11 @@ public abstract class Piece {
      * @param board the current board state
      * @return true if the move is valid, false otherwise
      */
-    public abstract boolean isValidMove(Position targetPosition, Piece[][] board);
+    public boolean isValidMove(Position targetPosition, Piece[][] board) {
+        MoveList moves = new MoveList(MAX_PIECE_MOVES);
+        generateMoves(board, moves);
+        return moves.containsDestination(Bitboard.square(targetPosition));
+    }
 
     /**
      * Gets the string representation of the piece.
@@ -0,0 +1,235 @@
+package pieces;
+
+/**
+ * Material and piece-square values used by the evaluation.
+ * 
+ * <p>Each piece is worth its material value plus a bonus or penalty for the
+ * square it stands on, such as knights in the centre or pawns close to
+ * promotion. Every value comes in two parts: one for the middlegame and one
+ * for the endgame, where pawns are worth more and the king should come to
+ * the centre instead of hiding behind its pawns. The evaluation blends the
+ * two by the game phase, worked out from the pieces left on the board
+ * (see {@link #phase(int, int, int, int)}).
+ * 
+ * <p>The tables are written from white's side with rank 8 first, which is
+ * the board's own square order; black uses the same tables mirrored
+ * vertically. Values are stored with white positive and black negative, so
+ * the score of a position is the plain sum over its pieces and a move
+ * changes it by the values of the pieces it places and removes.
+ * 
+ * <p>So that the board can keep both sums with a single addition, the two
+ * parts are packed into one {@code int} by {@link #score(int, int)}: the
+ * middlegame value in the low 16 bits and the endgame value in the high
+ * 16 bits. Packed scores add and subtract like plain numbers, and
+ * {@link #middlegame(int)} and {@link #endgame(int)} take a sum apart again.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public final class PieceSquareTables {
+    /** Middlegame material value of each piece type in centipawns, indexed by type. */
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+    /** Endgame material value of each piece type in centipawns, indexed by type. */
+    public static final int[] ENDGAME_PIECE_VALUES = {120, 300, 330, 520, 940, 0};
+    /** Phase of the full set of pieces; a phase of 0 is a pure pawn endgame. */
+    public static final int MAX_PHASE = 24;
+
+    // Weight of each piece type in the game phase, indexed by type
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+
+    private static final int[][] MIDDLEGAME_TABLES = {
+        { // Pawn
+             0,  0,  0,  0,  0,  0,  0,  0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+             5,  5, 10, 25, 25, 10,  5,  5,
+             0,  0,  0, 20, 20,  0,  0,  0,
+             5, -5,-10,  0,  0,-10, -5,  5,
+             5, 10, 10,-20,-20, 10, 10,  5,
+             0,  0,  0,  0,  0,  0,  0,  0
+        },
+        { // Knight
+            -50,-40,-30,-30,-30,-30,-40,-50,
+            -40,-20,  0,  0,  0,  0,-20,-40,
+            -30,  0, 10, 15, 15, 10,  0,-30,
+            -30,  5, 15, 20, 20, 15,  5,-30,
+            -30,  0, 15, 20, 20, 15,  0,-30,
+            -30,  5, 10, 15, 15, 10,  5,-30,
+            -40,-20,  0,  5,  5,  0,-20,-40,
+            -50,-40,-30,-30,-30,-30,-40,-50
+        },
+        { // Bishop
+            -20,-10,-10,-10,-10,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5, 10, 10,  5,  0,-10,
+            -10,  5,  5, 10, 10,  5,  5,-10,
+            -10,  0, 10, 10, 10, 10,  0,-10,
+            -10, 10, 10, 10, 10, 10, 10,-10,
+            -10,  5,  0,  0,  0,  0,  5,-10,
+            -20,-10,-10,-10,-10,-10,-10,-20
+        },
+        { // Rook
+             0,  0,  0,  0,  0,  0,  0,  0,
+             5, 10, 10, 10, 10, 10, 10,  5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+             0,  0,  0,  5,  5,  0,  0,  0
+        },
+        { // Queen
+            -20,-10,-10, -5, -5,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5,  5,  5,  5,  0,-10,
+             -5,  0,  5,  5,  5,  5,  0, -5,
+              0,  0,  5,  5,  5,  5,  0, -5,
+            -10,  5,  5,  5,  5,  5,  0,-10,
+            -10,  0,  5,  0,  0,  0,  0,-10,
+            -20,-10,-10, -5, -5,-10,-10,-20
+        },
+        { // King: stay behind the pawns
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -20,-30,-30,-40,-40,-30,-30,-20,
+            -10,-20,-20,-20,-20,-20,-20,-10,
+             20, 20,  0,  0,  0,  0, 20, 20,
+             20, 30, 10,  0,  0, 10, 30, 20
+        }
+    };
+
+    // Knights, bishops, rooks and queens keep their middlegame squares
+    private static final int[][] ENDGAME_TABLES = {
+        { // Pawn: the closer to promotion the better
+             0,  0,  0,  0,  0,  0,  0,  0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+             5,  5,  5,  5,  5,  5,  5,  5,
+             0,  0,  0,  0,  0,  0,  0,  0,
+             0,  0,  0,  0,  0,  0,  0,  0
+        },
+        MIDDLEGAME_TABLES[1],
+        MIDDLEGAME_TABLES[2],
+        MIDDLEGAME_TABLES[3],
+        MIDDLEGAME_TABLES[4],
+        { // King: head for the centre
+            -50,-40,-30,-20,-20,-30,-40,-50,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -50,-30,-30,-30,-30,-30,-30,-50
+        }
+    };
+
+    // Packed material plus square bonus, white positive and black negative,
+    // indexed like the board's bitboards: type for white, 6 + type for black
+    private static final int[][] VALUES = new int[2 * Piece.TYPE_COUNT][64];
+
+    static {
+        for (int type = 0; type < Piece.TYPE_COUNT; type++) {
+            for (int square = 0; square < 64; square++) {
+                VALUES[type][square] = packedValue(type, square);
+                // Mirroring the row turns a white square into the matching black one
+                VALUES[Piece.TYPE_COUNT + type][square] = -packedValue(type, square ^ 56);
+            }
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private PieceSquareTables() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Gets the packed value of a white piece on a square.
+     * 
+     * @param type the piece type index
+     * @param square the square index
+     * @return the packed middlegame and endgame value
+     */
+    private static int packedValue(int type, int square) {
+        return score(PIECE_VALUES[type] + MIDDLEGAME_TABLES[type][square],
+                ENDGAME_PIECE_VALUES[type] + ENDGAME_TABLES[type][square]);
+    }
+
+    /**
+     * Gets the packed value of a piece standing on a square.
+     * 
+     * @param type the piece type index
+     * @param isWhite the piece color
+     * @param square the square index
+     * @return the packed material and square value, positive for white and
+     *         negative for black
+     */
+    public static int value(int type, boolean isWhite, int square) {
+        return VALUES[isWhite ? type : Piece.TYPE_COUNT + type][square];
+    }
+
+    /**
+     * Packs a middlegame and an endgame score into one {@code int}.
+     * 
+     * @param middlegame the middlegame score in centipawns
+     * @param endgame the endgame score in centipawns
+     * @return the packed score
+     */
+    public static int score(int middlegame, int endgame) {
+        return (endgame << 16) + middlegame;
+    }
+
+    /**
+     * Gets the middlegame part of a packed score.
+     * 
+     * @param score the packed score
+     * @return the middlegame score in centipawns
+     */
+    public static int middlegame(int score) {
+        return (short) score;
+    }
+
+    /**
+     * Gets the endgame part of a packed score.
+     * 
+     * @param score the packed score
+     * @return the endgame score in centipawns
+     */
+    public static int endgame(int score) {
+        // Round so that a negative middlegame part borrowing from the high half is undone
+        return (score + 0x8000) >> 16;
+    }
+
+    /**
+     * Gets the game phase from the pieces on the board, counting both sides.
+     * Promotions can push the count past the full set, so it is capped.
+     * 
+     * @param knights the number of knights
+     * @param bishops the number of bishops
+     * @param rooks the number of rooks
+     * @param queens the number of queens
+     * @return the phase, from 0 (only kings and pawns) to {@link #MAX_PHASE}
+     */
+    public static int phase(int knights, int bishops, int rooks, int queens) {
+        int phase = knights * PHASE_WEIGHTS[Piece.KNIGHT] + bishops * PHASE_WEIGHTS[Piece.BISHOP]
+                + rooks * PHASE_WEIGHTS[Piece.ROOK] + queens * PHASE_WEIGHTS[Piece.QUEEN];
+        return Math.min(phase, MAX_PHASE);
+    }
+
+    /**
+     * Blends the two parts of a packed score by the game phase.
+     * 
+     * @param score the packed score
+     * @param phase the game phase, from 0 to {@link #MAX_PHASE}
+     * @return the tapered score in centipawns
+     */
+    public static int taper(int score, int phase) {
+        return (middlegame(score) * phase + endgame(score) * (MAX_PHASE - phase)) / MAX_PHASE;
+    }
+}
@@ -1,8 +1,7 @@
 package pieces;
 
+import board.Bitboard;
 import board.Position;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a Queen piece in chess.
@@ -11,7 +10,6 @@ import java.util.List;
  * @version 1.0
  */
 public class Queen extends Piece {
-
     /**
      * Constructor for Queen class.
      * 
@@ -23,60 +21,25 @@ public class Queen extends Piece {
     }
 
     /**
-     * Gets all possible moves for the queen.
-     * The queen combines the moves of a rook and bishop.
+     * Gets the type index of the queen.
      * 
-     * @param board the current board state
-     * @return a list of valid positions the queen can move to
+     * @return {@link Piece#QUEEN}
      */
     @Override
-    public List<Position> possibleMoves(Piece[][] board) {
-        List<Position> moves = new ArrayList<>();
-        
-        // All directions: horizontal, vertical, and diagonal
-        int[][] directions = {
-            {-1, 0}, {1, 0}, {0, -1}, {0, 1},  // Rook moves
-            {-1, -1}, {-1, 1}, {1, -1}, {1, 1}  // Bishop moves
-        };
-        
-        for (int[] direction : directions) {
-            int newRow = position.getRow() + direction[0];
-            int newCol = position.getColumn() + direction[1];
-            
-            while (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
-                Piece targetPiece = board[newRow][newCol];
-                
-                if (targetPiece == null) {
-                    // Empty square - can move here
-                    moves.add(new Position(newRow, newCol));
-                } else {
-                    // Occupied square
-                    if (targetPiece.isWhite() != isWhite) {
-                        // Enemy piece - can capture
-                        moves.add(new Position(newRow, newCol));
-                    }
-                    break; // Can't move past any piece
-                }
-                
-                newRow += direction[0];
-                newCol += direction[1];
-            }
-        }
-        
-        return moves;
+    public int getType() {
+        return QUEEN;
     }
 
     /**
-     * Checks if a move to the given position is valid for the queen.
+     * Gets the squares the queen attacks.
+     * The queen combines the moves of a rook and bishop.
      * 
-     * @param targetPosition the position to move to
-     * @param board the current board state
-     * @return true if the move is valid, false otherwise
+     * @param occupied the bitboard of occupied squares
+     * @return the bitboard of attacked squares
      */
     @Override
-    public boolean isValidMove(Position targetPosition, Piece[][] board) {
-        List<Position> possibleMoves = possibleMoves(board);
-        return possibleMoves.contains(targetPosition);
+    public long attacks(long occupied) {
+        return AttackTables.queenAttacks(Bitboard.square(position), occupied);
     }
 
     /**
@@ -96,7 +59,7 @@ public class Queen extends Piece {
      */
     @Override
     public Piece copy() {
-        Queen copy = new Queen(isWhite, new Position(position.getRow(), position.getColumn()));
+        Queen copy = new Queen(isWhite, position);
         copy.hasMoved = this.hasMoved;
         return copy;
     }
@@ -1,8 +1,7 @@
 package pieces;
 
+import board.Bitboard;
 import board.Position;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a Rook piece in chess.
@@ -11,7 +10,6 @@ import java.util.List;
  * @version 1.0
  */
 public class Rook extends Piece {
-
     /**
      * Constructor for Rook class.
      * 
@@ -23,56 +21,24 @@ public class Rook extends Piece {
     }
 
     /**
-     * Gets all possible moves for the rook.
+     * Gets the type index of the rook.
      * 
-     * @param board the current board state
-     * @return a list of valid positions the rook can move to
+     * @return {@link Piece#ROOK}
      */
     @Override
-    public List<Position> possibleMoves(Piece[][] board) {
-        List<Position> moves = new ArrayList<>();
-        
-        // Horizontal and vertical directions
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-        
-        for (int[] direction : directions) {
-            int newRow = position.getRow() + direction[0];
-            int newCol = position.getColumn() + direction[1];
-            
-            while (newRow >= 0 && newRow <= 7 && newCol >= 0 && newCol <= 7) {
-                Piece targetPiece = board[newRow][newCol];
-                
-                if (targetPiece == null) {
-                    // Empty square - can move here
-                    moves.add(new Position(newRow, newCol));
-                } else {
-                    // Occupied square
-                    if (targetPiece.isWhite() != isWhite) {
-                        // Enemy piece - can capture
-                        moves.add(new Position(newRow, newCol));
-                    }
-                    break; // Can't move past any piece
-                }
-                
-                newRow += direction[0];
-                newCol += direction[1];
-            }
-        }
-        
-        return moves;
+    public int getType() {
+        return ROOK;
     }
 
     /**
-     * Checks if a move to the given position is valid for the rook.
+     * Gets the squares the rook attacks.
      * 
-     * @param targetPosition the position to move to
-     * @param board the current board state
-     * @return true if the move is valid, false otherwise
+     * @param occupied the bitboard of occupied squares
+     * @return the bitboard of attacked squares
      */
     @Override
-    public boolean isValidMove(Position targetPosition, Piece[][] board) {
-        List<Position> possibleMoves = possibleMoves(board);
-        return possibleMoves.contains(targetPosition);
+    public long attacks(long occupied) {
+        return AttackTables.rookAttacks(Bitboard.square(position), occupied);
     }
 
     /**
@@ -92,7 +58,7 @@ public class Rook extends Piece {
      */
     @Override
     public Piece copy() {
-        Rook copy = new Rook(isWhite, new Position(position.getRow(), position.getColumn()));
+        Rook copy = new Rook(isWhite, position);
         copy.hasMoved = this.hasMoved;
         return copy;
     }
@@ -0,0 +1,358 @@
+package tools;
+
+import board.Board;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import io.PgnGame;
+import io.PgnReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batch analysis of every position in a collection of games or positions.
+ * 
+ * <p>Input files ending in {@code .pgn} are read game by game, and every
+ * position of each game is analysed; any other file is read as one FEN (or
+ * EPD) position per line. The input is read on the calling thread and cut
+ * into chunks that are analysed on a fork-join pool. Each worker thread
+ * keeps its own board, search and transposition table and reuses them for
+ * every position it is given. Each position gets check, checkmate and
+ * stalemate detection and a short fixed-depth search.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.BatchAnalysis [--threads N] [--depth D] [--chunk N] [--hash MB] file...
+ *   java ChessGame --batch [options] file...
+ * </pre>
+ * A depth of 0 skips the search. Exits with status 1 if any input could not
+ * be read.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class BatchAnalysis {
+    private static final int DEFAULT_DEPTH = 2;
+    private static final int DEFAULT_CHUNK_SIZE = 64;
+    private static final int DEFAULT_HASH_MEGABYTES = 8;
+
+    private final ForkJoinPool pool;
+    private final Semaphore pendingChunks;
+    private final int chunkSize;
+    private final ThreadLocal<Worker> workers;
+
+    private final LongAdder positions = new LongAdder();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder checkmates = new LongAdder();
+    private final LongAdder stalemates = new LongAdder();
+    private final LongAdder matesFound = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Constructor for BatchAnalysis class.
+     * 
+     * @param threads the number of worker threads
+     * @param depth the search depth per position, or 0 for no search
+     * @param chunkSize the number of games or positions per task
+     * @param hashMegabytes the transposition table size of each worker in megabytes
+     */
+    public BatchAnalysis(int threads, int depth, int chunkSize, int hashMegabytes) {
+        this.pool = new ForkJoinPool(threads);
+        // Bounds the chunks read ahead of the workers, and so the memory used
+        this.pendingChunks = new Semaphore(threads * 4);
+        this.chunkSize = chunkSize;
+        this.workers = ThreadLocal.withInitial(() -> new Worker(depth, hashMegabytes));
+    }
+
+    /**
+     * The per-thread state reused for every position a worker analyses.
+     */
+    private final class Worker {
+        private final Board board = new Board();
+        private final Search search;
+        private final int depth;
+
+        /**
+         * Constructor for Worker class.
+         * 
+         * @param depth the search depth per position, or 0 for no search
+         * @param hashMegabytes the transposition table size in megabytes
+         */
+        Worker(int depth, int hashMegabytes) {
+            this.depth = depth;
+            this.search = depth > 0 ? new Search(board, new TranspositionTable(hashMegabytes)) : null;
+        }
+
+        /**
+         * Analyses the position currently on the board.
+         */
+        void analyse() {
+            positions.increment();
+            boolean white = board.isWhiteToMove();
+            if (board.isCheck(white)) {
+                checks.increment();
+                if (!board.hasLegalMoves(white)) {
+                    checkmates.increment();
+                    return;
+                }
+            } else if (!board.hasLegalMoves(white)) {
+                stalemates.increment();
+                return;
+            }
+            if (search != null) {
+                SearchResult result = search.search(depth, 0);
+                nodes.add(result.getNodes());
+                if (Math.abs(result.getScore()) >= Search.MATE_SCORE - Search.MAX_PLY) {
+                    matesFound.increment();
+                }
+            }
+        }
+
+        /**
+         * Analyses every position of a game, from the start position to the
+         * position after the last move. A game that could not be read
+         * completely is analysed up to its error and counted as one error,
+         * as is a game whose analysis fails.
+         * 
+         * @param game the game
+         */
+        void analyse(PgnGame game) {
+            try {
+                board.loadFen(game.getStartFen());
+                analyse();
+                for (int move : game.getMoves()) {
+                    board.makeMove(move);
+                    analyse();
+                }
+            } catch (RuntimeException e) {
+                errors.increment();
+                return;
+            }
+            if (!game.isValid()) {
+                errors.increment();
+            }
+        }
+
+        /**
+         * Analyses a position given as a FEN or EPD line. A line that is not
+         * a valid position, or whose analysis fails, is counted as an error.
+         * 
+         * @param line the position
+         */
+        void analyse(String line) {
+            try {
+                board.loadFen(toFen(line));
+                analyse();
+            } catch (RuntimeException e) {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Cuts an EPD line down to its four position fields, or returns a FEN
+     * line unchanged.
+     * 
+     * @param line the FEN or EPD line
+     * @return the position in FEN
+     */
+    static String toFen(String line) {
+        int spaces = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ' ' && ++spaces == 4) {
+                // A FEN has two numeric clock fields after the fourth space
+                String rest = line.substring(i + 1);
+                return rest.matches("\\d+ \\d+") ? line : line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    /**
+     * Reads a PGN file and queues its games for analysis in chunks.
+     * 
+     * @param path the file
+     * @throws IOException if the file cannot be read
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void submitPgn(Path path) throws IOException, InterruptedException {
+        try (PgnReader reader = new PgnReader(path)) {
+            List<PgnGame> chunk = new ArrayList<>(chunkSize);
+            for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                chunk.add(game);
+                if (chunk.size() == chunkSize) {
+                    submit(chunk, null);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            submit(chunk, null);
+        }
+    }
+
+    /**
+     * Reads a file of FEN or EPD lines and queues them for analysis in chunks.
+     * Blank lines and lines starting with '#' are skipped.
+     * 
+     * @param path the file
+     * @throws IOException if the file cannot be read
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void submitFens(Path path) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    submit(null, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            submit(null, chunk);
+        }
+    }
+
+    /**
+     * Queues one chunk of games or positions, waiting while too many chunks
+     * are already queued.
+     * 
+     * @param games the games to analyse, or null
+     * @param fens the positions to analyse, or null
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    private void submit(List<PgnGame> games, List<String> fens) throws InterruptedException {
+        if ((games == null || games.isEmpty()) && (fens == null || fens.isEmpty())) {
+            return;
+        }
+        pendingChunks.acquire();
+        pool.execute(() -> {
+            try {
+                Worker worker = workers.get();
+                if (games != null) {
+                    for (PgnGame game : games) {
+                        worker.analyse(game);
+                    }
+                } else {
+                    for (String fen : fens) {
+                        worker.analyse(fen);
+                    }
+                }
+            } finally {
+                pendingChunks.release();
+            }
+        });
+    }
+
+    /**
+     * Waits for every queued chunk to be analysed and stops the pool.
+     * 
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void finish() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Prints the totals and throughput.
+     * 
+     * @param elapsedNanos the time the analysis took
+     */
+    public void printSummary(long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        System.out.printf("Positions: %d, checks: %d, checkmates: %d, stalemates: %d%n",
+                positions.sum(), checks.sum(), checkmates.sum(), stalemates.sum());
+        System.out.printf("Forced mates found by search: %d, search nodes: %d%n", matesFound.sum(), nodes.sum());
+        System.out.printf("Errors: %d%n", errors.sum());
+        System.out.printf("Time: %.2f s, %.0f positions/sec on %d threads%n",
+                seconds, positions.sum() / seconds, pool.getParallelism());
+    }
+
+    /**
+     * Gets the number of inputs that could not be read or analysed.
+     * 
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Main method to run a batch analysis from the command line.
+     * 
+     * @param args the command line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int depth = DEFAULT_DEPTH;
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        int hashMegabytes = DEFAULT_HASH_MEGABYTES;
+        List<Path> files = new ArrayList<>();
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--depth":
+                        depth = Integer.parseInt(args[++i]);
+                        break;
+                    case "--chunk":
+                        chunkSize = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hash":
+                        hashMegabytes = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        files.add(Paths.get(args[i]));
+                }
+            }
+            if (files.isEmpty() || threads < 1 || depth < 0 || chunkSize < 1) {
+                throw new IllegalArgumentException("Invalid arguments");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: java tools.BatchAnalysis [--threads N] [--depth D] [--chunk N] [--hash MB] file...");
+            System.exit(2);
+        }
+        
+        BatchAnalysis analysis = new BatchAnalysis(threads, depth, chunkSize, hashMegabytes);
+        long start = System.nanoTime();
+        boolean readFailed = false;
+        try {
+            for (Path file : files) {
+                try {
+                    if (file.toString().toLowerCase().endsWith(".pgn")) {
+                        analysis.submitPgn(file);
+                    } else {
+                        analysis.submitFens(file);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Cannot read " + file + ": " + e.getMessage());
+                    readFailed = true;
+                }
+            }
+            analysis.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        analysis.printSummary(System.nanoTime() - start);
+        System.exit(readFailed || analysis.getErrors() > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,174 @@
+package tools;
+
+import board.Board;
+import io.GameRecordReader;
+import io.GameRecordWriter;
+import io.PgnGame;
+import io.PgnReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Converts a PGN file to the binary game record format and compares read
+ * and write throughput of the two formats.
+ * 
+ * <p>Four passes are timed: reading the PGN file (which replays every game
+ * on a board), writing the game records, reading every game record back in
+ * order (which also replays every game), and replaying randomly chosen
+ * games through the index. The moves read back are checked against the
+ * moves read from the PGN file.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.GameRecordBenchmark games.pgn [games.cgr]
+ * </pre>
+ * The game record file is kept if a name is given, otherwise it is written
+ * to a temporary file and deleted.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class GameRecordBenchmark {
+    private static final int RANDOM_READS = 10000;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private GameRecordBenchmark() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Main method to run the benchmark from the command line.
+     * 
+     * @param args the PGN file, and optionally the game record file to write
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: java tools.GameRecordBenchmark games.pgn [games.cgr]");
+            System.exit(2);
+        }
+        Path pgn = Paths.get(args[0]);
+        
+        try {
+            Path records = args.length == 2 ? Paths.get(args[1]) : Files.createTempFile("games", ".cgr");
+            try {
+                run(pgn, records);
+            } finally {
+                if (args.length == 1) {
+                    Files.deleteIfExists(records);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Runs the timed passes and prints the results.
+     * 
+     * @param pgn the PGN file to read
+     * @param records the game record file to write
+     * @throws IOException if a file cannot be read or written
+     */
+    private static void run(Path pgn, Path records) throws IOException {
+        // Pass 1: PGN reading on its own
+        long games = 0;
+        long moves = 0;
+        long pgnChecksum = 0;
+        long start = System.nanoTime();
+        long pgnBytes;
+        try (PgnReader reader = new PgnReader(pgn)) {
+            for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                games++;
+                moves += game.getMoveCount();
+                pgnChecksum = checksum(pgnChecksum, game.getMoves());
+            }
+            pgnBytes = reader.getBytesRead();
+        }
+        report("PGN read", System.nanoTime() - start, games, moves, pgnBytes);
+        
+        // Pass 2: writing game records, timing only the writer
+        long writeNanos = 0;
+        try (PgnReader reader = new PgnReader(pgn)) {
+            long writeStart = System.nanoTime();
+            GameRecordWriter writer = new GameRecordWriter(records);
+            writeNanos += System.nanoTime() - writeStart;
+            try {
+                for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                    writeStart = System.nanoTime();
+                    writer.write(game);
+                    writeNanos += System.nanoTime() - writeStart;
+                }
+            } finally {
+                writeStart = System.nanoTime();
+                writer.close();
+                writeNanos += System.nanoTime() - writeStart;
+            }
+        }
+        long recordBytes = Files.size(records);
+        report("Record write", writeNanos, games, moves, recordBytes);
+        
+        // Pass 3: reading every game record in order
+        try (GameRecordReader reader = new GameRecordReader(records)) {
+            long recordChecksum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < reader.getGameCount(); i++) {
+                recordChecksum = checksum(recordChecksum, reader.read(i).getMoves());
+            }
+            report("Record read", System.nanoTime() - start, games, moves, recordBytes);
+            if (recordChecksum != pgnChecksum || reader.getGameCount() != games) {
+                throw new IOException("Moves read back from " + records + " do not match " + pgn);
+            }
+            
+            // Pass 4: random access through the index
+            if (reader.getGameCount() > 0) {
+                Board board = new Board();
+                Random random = new Random(1);
+                long randomMoves = 0;
+                start = System.nanoTime();
+                for (int i = 0; i < RANDOM_READS; i++) {
+                    randomMoves += reader.replay(random.nextInt(reader.getGameCount()), board);
+                }
+                report("Record seek", System.nanoTime() - start, RANDOM_READS, randomMoves, 0);
+            }
+        }
+        
+        System.out.printf("Size: PGN %d bytes, records %d bytes (%.1f%%)%n",
+                pgnBytes, recordBytes, 100.0 * recordBytes / Math.max(pgnBytes, 1));
+    }
+
+    /**
+     * Folds the moves of one game into a running checksum.
+     * 
+     * @param checksum the checksum so far
+     * @param moves the packed moves of the game
+     * @return the new checksum
+     */
+    private static long checksum(long checksum, int[] moves) {
+        for (int move : moves) {
+            checksum = checksum * 31 + move;
+        }
+        return checksum * 31 + moves.length;
+    }
+
+    /**
+     * Prints the throughput of one pass.
+     * 
+     * @param name the pass name
+     * @param nanos the time the pass took
+     * @param games the number of games handled
+     * @param moves the number of moves handled
+     * @param bytes the number of bytes read or written, or 0 to leave out
+     */
+    private static void report(String name, long nanos, long games, long moves, long bytes) {
+        double seconds = Math.max(nanos, 1) / 1e9;
+        String megabytes = bytes > 0 ? String.format(", %.1f MB/sec", bytes / seconds / (1024 * 1024)) : "";
+        System.out.printf("%-13s %8.3f s, %9.0f games/sec, %11.0f moves/sec%s%n",
+                name + ":", seconds, games / seconds, moves / seconds, megabytes);
+    }
+}
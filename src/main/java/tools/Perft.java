@@ -0,0 +1,213 @@
+package tools;
+
+import board.Board;
+import pieces.AttackTables;
+import pieces.Move;
+import pieces.MoveList;
+
+/**
+ * Performance test (perft) for move generation.
+ * Counts the leaf nodes of the legal move tree to a fixed depth, which both
+ * measures generator throughput and, compared against published counts,
+ * proves the generator and make/unmake correct.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.Perft [--divide] [--fen "&lt;fen&gt;"] depth
+ *   java tools.Perft --suite [maxDepth]
+ * </pre>
+ * {@code --divide} prints the node count below each root move, and
+ * {@code --suite} checks the built-in regression positions and exits with
+ * status 1 if any count differs.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class Perft {
+    /** FEN of the standard starting position. */
+    public static final String START_FEN = Board.START_FEN;
+
+    // Regression positions with their published node counts for depth 1, 2, ...
+    private static final String[] SUITE_NAMES = {
+        "start", "kiwipete", "position 3", "position 4", "position 5", "position 6"
+    };
+    private static final String[] SUITE_FENS = {
+        START_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+        "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+        "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"
+    };
+    private static final long[][] SUITE_COUNTS = {
+        {20, 400, 8902, 197281, 4865609, 119060324},
+        {48, 2039, 97862, 4085603, 193690690},
+        {14, 191, 2812, 43238, 674624, 11030083},
+        {6, 264, 9467, 422333, 15833292},
+        {44, 1486, 62379, 2103487, 89941194},
+        {46, 2079, 89890, 3894594, 164075551}
+    };
+    private static final int DEFAULT_SUITE_DEPTH = 4;
+    private static final int MAX_DEPTH = 64;
+
+    private final Board board;
+    private final MoveList[] moveLists;
+
+    /**
+     * Constructor for Perft class.
+     * 
+     * @param board the board to count moves on; it is restored after every count
+     */
+    public Perft(Board board) {
+        this.board = board;
+        this.moveLists = new MoveList[MAX_DEPTH + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree.
+     * Moves at the last level are counted without being played.
+     * 
+     * @param depth the depth in plies (0 to 64)
+     * @return the number of leaf nodes
+     */
+    public long perft(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        board.generateLegalMoves(board.isWhiteToMove(), moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes below each root move and prints one line per
+     * move, followed by the total.
+     * 
+     * @param depth the depth in plies (1 to 64)
+     * @return the total number of leaf nodes
+     */
+    public long divide(int depth) {
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(board.isWhiteToMove(), moves);
+        
+        long total = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move);
+            long nodes = perft(depth - 1);
+            board.unmakeMove();
+            System.out.println(Move.toString(move) + ": " + nodes);
+            total += nodes;
+        }
+        System.out.println("Moves: " + moves.size());
+        return total;
+    }
+
+    /**
+     * Runs the regression suite up to the given depth, printing each count
+     * with its throughput.
+     * 
+     * @param maxDepth the deepest level to check for each position
+     * @return true if every count matched, false otherwise
+     */
+    public static boolean runSuite(int maxDepth) {
+        System.out.printf("Attack tables built in %.3f ms%n", AttackTables.getInitializationNanos() / 1e6);
+        boolean passed = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+        
+        for (int i = 0; i < SUITE_FENS.length; i++) {
+            Perft perft = new Perft(Board.fromFen(SUITE_FENS[i]));
+            for (int depth = 1; depth <= Math.min(maxDepth, SUITE_COUNTS[i].length); depth++) {
+                long start = System.nanoTime();
+                long nodes = perft.perft(depth);
+                long elapsed = System.nanoTime() - start;
+                totalNodes += nodes;
+                totalNanos += elapsed;
+                
+                boolean ok = nodes == SUITE_COUNTS[i][depth - 1];
+                passed &= ok;
+                System.out.printf("%-10s depth %d: %12d %s (expected %d, %s)%n", SUITE_NAMES[i], depth, nodes,
+                        ok ? "OK  " : "FAIL", SUITE_COUNTS[i][depth - 1], formatRate(nodes, elapsed));
+            }
+        }
+        
+        System.out.println((passed ? "All counts match. " : "Some counts differ! ")
+                + "Total " + totalNodes + " nodes, " + formatRate(totalNodes, totalNanos));
+        return passed;
+    }
+
+    /**
+     * Formats a node count over elapsed time as nodes per second.
+     * 
+     * @param nodes the number of nodes
+     * @param nanos the elapsed time in nanoseconds
+     * @return the formatted rate
+     */
+    private static String formatRate(long nodes, long nanos) {
+        return String.format("%.0f nodes/sec", nodes * 1e9 / Math.max(nanos, 1));
+    }
+
+    /**
+     * Main method to run perft from the command line.
+     * 
+     * @param args the command line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        String fen = START_FEN;
+        boolean divide = false;
+        boolean suite = false;
+        int depth = -1;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--fen":
+                        fen = args[++i];
+                        break;
+                    case "--divide":
+                        divide = true;
+                        break;
+                    case "--suite":
+                        suite = true;
+                        break;
+                    default:
+                        depth = Integer.parseInt(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            depth = -1;
+            suite = false;
+        }
+        
+        if (suite) {
+            System.exit(runSuite(depth > 0 ? depth : DEFAULT_SUITE_DEPTH) ? 0 : 1);
+        }
+        if (depth < 1 || depth > MAX_DEPTH) {
+            System.err.println("Usage: java tools.Perft [--divide] [--fen \"<fen>\"] depth");
+            System.err.println("       java tools.Perft --suite [maxDepth]");
+            System.exit(2);
+        }
+        
+        Perft perft = new Perft(Board.fromFen(fen));
+        long start = System.nanoTime();
+        long nodes = divide ? perft.divide(depth) : perft.perft(depth);
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Nodes: " + nodes);
+        System.out.printf("Time: %.3f s (%s)%n", elapsed / 1e9, formatRate(nodes, elapsed));
+    }
+}
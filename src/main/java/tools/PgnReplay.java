@@ -0,0 +1,94 @@
+package tools;
+
+import io.PgnGame;
+import io.PgnReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Replays every game of one or more PGN files through the board, checking
+ * that each move is legal, and reports game statistics and throughput.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.PgnReplay file.pgn [more.pgn ...]
+ * </pre>
+ * Exits with status 1 if any game has an illegal or unreadable move.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class PgnReplay {
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final long PROGRESS_INTERVAL = 100000;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private PgnReplay() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Main method to replay PGN files from the command line.
+     * 
+     * @param args the PGN files to read
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: java tools.PgnReplay file.pgn [more.pgn ...]");
+            System.exit(2);
+        }
+        
+        long games = 0;
+        long moves = 0;
+        long errors = 0;
+        long bytes = 0;
+        long whiteWins = 0;
+        long blackWins = 0;
+        long draws = 0;
+        long start = System.nanoTime();
+        
+        for (String file : args) {
+            Path path = Paths.get(file);
+            try (PgnReader reader = new PgnReader(path)) {
+                for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                    games++;
+                    moves += game.getMoveCount();
+                    switch (game.getResult()) {
+                        case "1-0":
+                            whiteWins++;
+                            break;
+                        case "0-1":
+                            blackWins++;
+                            break;
+                        case "1/2-1/2":
+                            draws++;
+                            break;
+                        default:
+                            break;
+                    }
+                    if (!game.isValid() && ++errors <= MAX_REPORTED_ERRORS) {
+                        System.out.println(path + " game " + reader.getGamesRead() + ": " + game.getError());
+                    }
+                    if (games % PROGRESS_INTERVAL == 0) {
+                        System.out.printf("%d games, %d moves...%n", games, moves);
+                    }
+                }
+                bytes += reader.getBytesRead();
+            } catch (IOException e) {
+                System.err.println("Cannot read " + path + ": " + e.getMessage());
+                System.exit(2);
+            }
+        }
+        
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        System.out.printf("Games: %d (white wins %d, black wins %d, draws %d, other %d)%n",
+                games, whiteWins, blackWins, draws, games - whiteWins - blackWins - draws);
+        System.out.printf("Moves: %d, errors: %d%n", moves, errors);
+        System.out.printf("Time: %.2f s, %.0f games/sec, %.0f moves/sec, %.1f MB/sec%n",
+                seconds, games / seconds, moves / seconds, bytes / seconds / (1024 * 1024));
+        System.exit(errors == 0 ? 0 : 1);
+    }
+}
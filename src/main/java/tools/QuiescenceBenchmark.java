@@ -0,0 +1,130 @@
+package tools;
+
+import board.Board;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+
+/**
+ * Measures how much skipping losing captures in the quiescence search, as
+ * judged by static exchange evaluation, shrinks the search.
+ * Each position of the {@link SearchSpeedup} suite is searched to a fixed
+ * depth once with SEE pruning and once without, each time with an empty
+ * transposition table, and the node counts and times are compared. An
+ * unmeasured pass runs first so that both measurements see compiled code.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.QuiescenceBenchmark [--depth D] [--hash MB]
+ * </pre>
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class QuiescenceBenchmark {
+    private static final int DEFAULT_DEPTH = 6;
+    private static final int DEFAULT_HASH_MEGABYTES = 64;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private QuiescenceBenchmark() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Searches every suite position.
+     * 
+     * @param seePruning true to skip losing captures in the quiescence search
+     * @param depth the depth to search to
+     * @param table the transposition table, cleared before each position
+     * @param print true to print each search result
+     * @return for each position the node count, quiescence node count and
+     *         time in nanoseconds, in that order
+     */
+    private static long[][] runSuite(boolean seePruning, int depth, TranspositionTable table, boolean print) {
+        long[][] results = new long[SearchSpeedup.SUITE_FENS.length][];
+        for (int i = 0; i < SearchSpeedup.SUITE_FENS.length; i++) {
+            table.clear();
+            Search search = new Search(Board.fromFen(SearchSpeedup.SUITE_FENS[i]), table);
+            search.setSeePruning(seePruning);
+            SearchResult result = search.search(depth, 0);
+            results[i] = new long[] {result.getNodes(), search.getQuiescenceNodes(), result.getElapsedNanos()};
+            if (print) {
+                System.out.printf("%-7s %-10s %s, quiescence nodes %d%n", seePruning ? "SEE" : "no SEE",
+                        SearchSpeedup.SUITE_NAMES[i], result, search.getQuiescenceNodes());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Main method to run the measurement from the command line.
+     * 
+     * @param args the command line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        int depth = DEFAULT_DEPTH;
+        int hashMegabytes = DEFAULT_HASH_MEGABYTES;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--depth":
+                        depth = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hash":
+                        hashMegabytes = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (depth < 1 || depth > Search.MAX_PLY) {
+                throw new IllegalArgumentException("Depth must be between 1 and " + Search.MAX_PLY);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: java tools.QuiescenceBenchmark [--depth D] [--hash MB]");
+            System.exit(2);
+        }
+        
+        TranspositionTable table = new TranspositionTable(hashMegabytes);
+        runSuite(true, depth, table, false); // Warm-up
+        long[][] without = runSuite(false, depth, table, true);
+        long[][] with = runSuite(true, depth, table, true);
+        
+        System.out.printf("%nDepth %d, without vs with SEE pruning:%n", depth);
+        System.out.printf("%-10s %12s %12s %12s %12s %10s %10s%n", "",
+                "nodes", "nodes SEE", "qnodes", "qnodes SEE", "ms", "ms SEE");
+        long[] totals = new long[6];
+        for (int i = 0; i < SearchSpeedup.SUITE_FENS.length; i++) {
+            for (int j = 0; j < 3; j++) {
+                totals[j] += without[i][j];
+                totals[3 + j] += with[i][j];
+            }
+            printRow(SearchSpeedup.SUITE_NAMES[i], without[i][0], with[i][0], without[i][1], with[i][1],
+                    without[i][2], with[i][2]);
+        }
+        printRow("total", totals[0], totals[3], totals[1], totals[4], totals[2], totals[5]);
+        System.out.printf("Node reduction: %.1f%% of all nodes, %.1f%% of quiescence nodes%n",
+                100.0 * (totals[0] - totals[3]) / Math.max(totals[0], 1),
+                100.0 * (totals[1] - totals[4]) / Math.max(totals[1], 1));
+    }
+
+    /**
+     * Prints one line of the comparison table.
+     * 
+     * @param name the position name
+     * @param nodes the node count without SEE pruning
+     * @param nodesSee the node count with SEE pruning
+     * @param quiescenceNodes the quiescence node count without SEE pruning
+     * @param quiescenceNodesSee the quiescence node count with SEE pruning
+     * @param nanos the time without SEE pruning
+     * @param nanosSee the time with SEE pruning
+     */
+    private static void printRow(String name, long nodes, long nodesSee, long quiescenceNodes,
+                                 long quiescenceNodesSee, long nanos, long nanosSee) {
+        System.out.printf("%-10s %12d %12d %12d %12d %10.1f %10.1f%n", name, nodes, nodesSee,
+                quiescenceNodes, quiescenceNodesSee, nanos / 1e6, nanosSee / 1e6);
+    }
+}
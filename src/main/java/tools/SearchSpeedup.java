@@ -0,0 +1,126 @@
+package tools;
+
+import board.Board;
+import engine.ParallelSearch;
+import engine.SearchResult;
+import engine.TranspositionTable;
+
+/**
+ * Measures the speedup of the parallel search over a single thread.
+ * Each position of a fixed suite is searched to a fixed depth once with one
+ * thread and once with the requested number of threads, each time with an
+ * empty transposition table, and the times to reach the depth are compared.
+ * An unmeasured single-thread pass runs first so that both measurements see
+ * compiled code.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.SearchSpeedup [--threads N] [--depth D] [--hash MB]
+ * </pre>
+ * The thread count defaults to the number of available processors.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class SearchSpeedup {
+    // Also used by QuiescenceBenchmark
+    static final String[] SUITE_NAMES = {
+        "start", "kiwipete", "italian", "position 3", "position 4", "position 6"
+    };
+    static final String[] SUITE_FENS = {
+        Perft.START_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "r1bqk1nr/pppp1ppp/2n5/2b1p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+        "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"
+    };
+    private static final int DEFAULT_DEPTH = 6;
+    private static final int DEFAULT_HASH_MEGABYTES = 64;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SearchSpeedup() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Searches every suite position with the given number of threads.
+     * 
+     * @param threads the number of search threads
+     * @param depth the depth to search to
+     * @param hashMegabytes the transposition table size in megabytes
+     * @param print true to print each search result
+     * @return the time to depth for each position in nanoseconds, followed by the total node count
+     */
+    private static long[] runSuite(int threads, int depth, int hashMegabytes, boolean print) {
+        long[] results = new long[SUITE_FENS.length + 1];
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(hashMegabytes), threads)) {
+            for (int i = 0; i < SUITE_FENS.length; i++) {
+                search.getTable().clear();
+                search.clearHistory();
+                SearchResult result = search.search(Board.fromFen(SUITE_FENS[i]), depth, 0);
+                results[i] = result.getTimeToDepthNanos(depth);
+                results[SUITE_FENS.length] += result.getNodes();
+                if (print) {
+                    System.out.printf("%2d thread(s) %-10s %s%n", threads, SUITE_NAMES[i], result);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Main method to run the speedup measurement from the command line.
+     * 
+     * @param args the command line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int depth = DEFAULT_DEPTH;
+        int hashMegabytes = DEFAULT_HASH_MEGABYTES;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--depth":
+                        depth = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hash":
+                        hashMegabytes = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (threads < 1 || depth < 1) {
+                throw new IllegalArgumentException("Thread count and depth must be positive");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: java tools.SearchSpeedup [--threads N] [--depth D] [--hash MB]");
+            System.exit(2);
+        }
+        
+        runSuite(1, depth, hashMegabytes, false); // Warm-up
+        long[] single = runSuite(1, depth, hashMegabytes, true);
+        long[] parallel = runSuite(threads, depth, hashMegabytes, true);
+        
+        System.out.printf("%nTime to depth %d, 1 vs %d thread(s):%n", depth, threads);
+        long singleTotal = 0;
+        long parallelTotal = 0;
+        for (int i = 0; i < SUITE_FENS.length; i++) {
+            singleTotal += single[i];
+            parallelTotal += parallel[i];
+            System.out.printf("%-10s %9.1f ms %9.1f ms  speedup %.2fx%n", SUITE_NAMES[i],
+                    single[i] / 1e6, parallel[i] / 1e6, (double) single[i] / Math.max(parallel[i], 1));
+        }
+        System.out.printf("%-10s %9.1f ms %9.1f ms  speedup %.2fx%n", "total",
+                singleTotal / 1e6, parallelTotal / 1e6, (double) singleTotal / Math.max(parallelTotal, 1));
+        System.out.printf("Nodes: %d vs %d (%.2fx)%n", single[SUITE_FENS.length], parallel[SUITE_FENS.length],
+                (double) parallel[SUITE_FENS.length] / Math.max(single[SUITE_FENS.length], 1));
+    }
+}
@@ -0,0 +1,152 @@
+package tools;
+
+import board.Board;
+import game.EnginePlayer;
+import game.Game;
+import game.GameResult;
+import game.Player;
+import game.RandomPlayer;
+import game.Termination;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import pieces.MoveList;
+
+/**
+ * Plays games between two computer players with no console output and
+ * reports games/sec and moves/sec of the headless game loop.
+ * 
+ * <p>With {@code --depth 0} both sides play random legal moves, which
+ * measures the game loop, move generation and draw detection on their own.
+ * With a search depth, both sides are engines, and each game starts from a
+ * position reached by a few random moves so that the games differ.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.SelfPlay [--games N] [--depth D] [--max-moves N] [--random-plies N] [--hash MB] [--seed S]
+ * </pre>
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class SelfPlay {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_MAX_MOVES = 200;
+    private static final int DEFAULT_RANDOM_PLIES = 8;
+    private static final int DEFAULT_HASH_MEGABYTES = 16;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SelfPlay() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Plays random moves from the starting position to get a varied
+     * opening position that still has legal moves.
+     * 
+     * @param random the random number generator
+     * @param plies the number of random moves
+     * @return the position in FEN
+     */
+    static String randomOpening(Random random, int plies) {
+        Board board = new Board();
+        MoveList moves = new MoveList();
+        while (true) {
+            board.loadFen(Board.START_FEN);
+            for (int ply = 0; ply <= plies; ply++) {
+                moves.clear();
+                board.generateLegalMoves(board.isWhiteToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                if (ply == plies) {
+                    return board.toFen();
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    /**
+     * Main method to run self-play games from the command line.
+     * 
+     * @param args the command line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        int games = DEFAULT_GAMES;
+        int depth = 0;
+        int maxMoves = DEFAULT_MAX_MOVES;
+        int randomPlies = DEFAULT_RANDOM_PLIES;
+        int hashMegabytes = DEFAULT_HASH_MEGABYTES;
+        long seed = 1;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--depth":
+                        depth = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-moves":
+                        maxMoves = Integer.parseInt(args[++i]);
+                        break;
+                    case "--random-plies":
+                        randomPlies = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hash":
+                        hashMegabytes = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (games < 1 || depth < 0 || maxMoves < 0 || randomPlies < 0) {
+                throw new IllegalArgumentException("Invalid arguments");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: java tools.SelfPlay [--games N] [--depth D] [--max-moves N] [--random-plies N] [--hash MB] [--seed S]");
+            System.exit(2);
+        }
+        
+        Random random = new Random(seed);
+        Player white = depth == 0
+                ? new RandomPlayer(true, "Random White", random.nextLong())
+                : new EnginePlayer(true, "Engine White", depth, 0, hashMegabytes, 1);
+        Player black = depth == 0
+                ? new RandomPlayer(false, "Random Black", random.nextLong())
+                : new EnginePlayer(false, "Engine Black", depth, 0, hashMegabytes, 1);
+        
+        Map<GameResult, Integer> results = new EnumMap<>(GameResult.class);
+        Map<Termination, Integer> terminations = new EnumMap<>(Termination.class);
+        long plies = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            String startFen = depth == 0 ? Board.START_FEN : randomOpening(random, randomPlies);
+            Game game = new Game(white, black, startFen);
+            game.setMaxMoves(maxMoves);
+            results.merge(game.start(), 1, Integer::sum);
+            terminations.merge(game.getTermination(), 1, Integer::sum);
+            plies += game.getPlies();
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        
+        System.out.printf("Games: %d (white wins %d, black wins %d, draws %d)%n", games,
+                results.getOrDefault(GameResult.WHITE_WINS, 0), results.getOrDefault(GameResult.BLACK_WINS, 0),
+                results.getOrDefault(GameResult.DRAW, 0));
+        System.out.println("Endings: " + terminations);
+        System.out.printf("Moves: %d (%.1f per game)%n", plies, (double) plies / games);
+        System.out.printf("Time: %.2f s, %.1f games/sec, %.0f moves/sec%n", seconds, games / seconds, plies / seconds);
+        
+        if (white instanceof EnginePlayer) {
+            ((EnginePlayer) white).close();
+            ((EnginePlayer) black).close();
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package tools;
+
+import board.Board;
+import engine.Search;
+import game.EnginePlayer;
+import game.Game;
+import game.GameObserver;
+import game.GameResult;
+import game.Player;
+import game.Termination;
+import io.San;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays many engine-against-engine games at once to compare two engine
+ * settings.
+ * 
+ * <p>Games run on a fixed thread pool, each on its own {@link Game} and
+ * board. Every worker thread keeps its own engine players (and so their
+ * transposition tables) and reuses them for each game it plays. Openings
+ * come from a FEN/EPD book, one position per line, or are made up of a few
+ * random moves; each opening is played twice with the colors swapped.
+ * Games are limited by depth, by a fixed time per move or by a clock with
+ * an increment.
+ * 
+ * <p>At the end the runner prints the win/draw/loss record of engine A with
+ * an Elo estimate, how the games ended, games/sec, and the CPU time and
+ * utilisation of each worker thread. Games that end without a result are
+ * counted apart and left out of the score. Games can also be saved as PGN.
+ * 
+ * <p>Usage:
+ * <pre>
+ *   java tools.Tournament [--games N] [--concurrency N] [--depth D] [--depth-b D]
+ *                         [--movetime MS | --tc SECONDS+INCREMENT] [--hash MB]
+ *                         [--max-moves N] [--book FILE | --random-plies N]
+ *                         [--seed S] [--pgn FILE]
+ * </pre>
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class Tournament {
+    private static final int DEFAULT_GAMES = 100;
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int DEFAULT_HASH_MEGABYTES = 16;
+    private static final int DEFAULT_MAX_MOVES = 200;
+    private static final int DEFAULT_RANDOM_PLIES = 8;
+    private static final int PROGRESS_INTERVAL = 100;
+    private static final int PGN_LINE_LENGTH = 80;
+
+    private final List<String> openings;
+    private final int games;
+    private final int depthA;
+    private final int depthB;
+    private final long moveTimeMillis;
+    private final long baseMillis;
+    private final long incrementMillis;
+    private final int hashMegabytes;
+    private final int maxMoves;
+    private final BufferedWriter pgn;
+
+    private final ThreadMXBean threadBean;
+    private final ThreadLocal<Worker> workers;
+    private final Queue<Worker> allWorkers;
+    private final AtomicInteger gamesPlayed;
+    private final LongAdder winsA;
+    private final LongAdder draws;
+    private final LongAdder lossesA;
+    private final LongAdder unfinished;
+    private final LongAdder plies;
+    private final LongAdder[] terminations;
+
+    /**
+     * Constructor for Tournament class.
+     * 
+     * @param openings the starting positions in FEN, each played twice
+     * @param games the number of games to play
+     * @param depthA the search depth of engine A
+     * @param depthB the search depth of engine B
+     * @param moveTimeMillis the search time per move in milliseconds, or 0 for none
+     * @param baseMillis the starting clock time in milliseconds, or 0 for no clock
+     * @param incrementMillis the clock increment per move in milliseconds
+     * @param hashMegabytes the transposition table size of each engine in megabytes
+     * @param maxMoves the move limit of each game, or 0 for none
+     * @param pgn the writer to save the games to, or null
+     */
+    public Tournament(List<String> openings, int games, int depthA, int depthB, long moveTimeMillis,
+                      long baseMillis, long incrementMillis, int hashMegabytes, int maxMoves, BufferedWriter pgn) {
+        this.openings = openings;
+        this.games = games;
+        this.depthA = depthA;
+        this.depthB = depthB;
+        this.moveTimeMillis = moveTimeMillis;
+        this.baseMillis = baseMillis;
+        this.incrementMillis = incrementMillis;
+        this.hashMegabytes = hashMegabytes;
+        this.maxMoves = maxMoves;
+        this.pgn = pgn;
+        this.threadBean = ManagementFactory.getThreadMXBean();
+        this.allWorkers = new ConcurrentLinkedQueue<>();
+        this.workers = ThreadLocal.withInitial(() -> {
+            Worker worker = new Worker(Thread.currentThread().getName());
+            allWorkers.add(worker);
+            return worker;
+        });
+        this.gamesPlayed = new AtomicInteger();
+        this.winsA = new LongAdder();
+        this.draws = new LongAdder();
+        this.lossesA = new LongAdder();
+        this.unfinished = new LongAdder();
+        this.plies = new LongAdder();
+        this.terminations = new LongAdder[Termination.values().length];
+        for (int i = 0; i < terminations.length; i++) {
+            terminations[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The engines and statistics of one worker thread, reused for every
+     * game the thread plays. Only that thread touches the engines; the
+     * statistics are read after all games are over.
+     */
+    private final class Worker implements GameObserver {
+        private final String name;
+        private final EnginePlayer whiteA;
+        private final EnginePlayer blackA;
+        private final EnginePlayer whiteB;
+        private final EnginePlayer blackB;
+        private final Board pgnBoard;
+        private int[] moves;
+        private int moveCount;
+        private int games;
+        private long cpuNanos;
+        private long busyNanos;
+
+        /**
+         * Constructor for Worker class.
+         * 
+         * @param name the name of the worker thread
+         */
+        Worker(String name) {
+            this.name = name;
+            this.whiteA = new EnginePlayer(true, "Engine A", depthA, moveTimeMillis, hashMegabytes, 1);
+            this.blackA = new EnginePlayer(false, "Engine A", depthA, moveTimeMillis, hashMegabytes, 1);
+            this.whiteB = new EnginePlayer(true, "Engine B", depthB, moveTimeMillis, hashMegabytes, 1);
+            this.blackB = new EnginePlayer(false, "Engine B", depthB, moveTimeMillis, hashMegabytes, 1);
+            this.pgnBoard = new Board();
+            this.moves = new int[256];
+        }
+
+        /**
+         * Records each move for the PGN output.
+         * 
+         * @param game the game
+         * @param player the player who moved
+         * @param move the packed move
+         */
+        @Override
+        public void moveMade(Game game, Player player, int move) {
+            if (moveCount == moves.length) {
+                moves = Arrays.copyOf(moves, moveCount * 2);
+            }
+            moves[moveCount++] = move;
+        }
+
+        /**
+         * Plays one game of the tournament.
+         * 
+         * @param index the game number, from 0
+         * @throws IOException if the game cannot be saved
+         */
+        void play(int index) throws IOException {
+            String opening = openings.get((index / 2) % openings.size());
+            boolean aIsWhite = index % 2 == 0;
+            Game game = aIsWhite ? new Game(whiteA, blackB, opening) : new Game(whiteB, blackA, opening);
+            game.setMaxMoves(maxMoves);
+            if (baseMillis > 0) {
+                game.setTimeControl(baseMillis, incrementMillis);
+            }
+            moveCount = 0;
+            if (pgn != null) {
+                game.addObserver(this);
+            }
+            
+            long cpuStart = threadBean.getCurrentThreadCpuTime();
+            long wallStart = System.nanoTime();
+            GameResult result = game.start();
+            busyNanos += System.nanoTime() - wallStart;
+            cpuNanos += threadBean.getCurrentThreadCpuTime() - cpuStart;
+            games++;
+            
+            if (result == GameResult.UNFINISHED) {
+                unfinished.increment();
+            } else if (result == GameResult.DRAW) {
+                draws.increment();
+            } else if ((result == GameResult.WHITE_WINS) == aIsWhite) {
+                winsA.increment();
+            } else {
+                lossesA.increment();
+            }
+            plies.add(game.getPlies());
+            terminations[game.getTermination().ordinal()].increment();
+            if (pgn != null) {
+                writePgn(game, index, opening);
+            }
+            
+            int played = gamesPlayed.incrementAndGet();
+            if (played % PROGRESS_INTERVAL == 0) {
+                System.out.printf("%d/%d games, engine A %s%n", played, Tournament.this.games, record());
+            }
+        }
+
+        /**
+         * Appends a finished game to the PGN output.
+         * 
+         * @param game the game
+         * @param index the game number, from 0
+         * @param opening the starting position in FEN
+         * @throws IOException if the game cannot be written
+         */
+        private void writePgn(Game game, int index, String opening) throws IOException {
+            StringBuilder text = new StringBuilder();
+            text.append("[Event \"Tournament\"]\n");
+            text.append("[Round \"").append(index + 1).append("\"]\n");
+            text.append("[White \"").append(game.getWhitePlayer().getName()).append("\"]\n");
+            text.append("[Black \"").append(game.getBlackPlayer().getName()).append("\"]\n");
+            text.append("[Result \"").append(game.getResult().getNotation()).append("\"]\n");
+            if (!opening.equals(Board.START_FEN)) {
+                text.append("[SetUp \"1\"]\n");
+                text.append("[FEN \"").append(opening).append("\"]\n");
+            }
+            text.append("[Termination \"").append(game.getTermination()).append("\"]\n\n");
+            
+            pgnBoard.loadFen(opening);
+            int lineStart = text.length();
+            for (int i = 0; i < moveCount; i++) {
+                StringBuilder token = new StringBuilder();
+                if (pgnBoard.isWhiteToMove() || i == 0) {
+                    token.append(pgnBoard.getFullmoveNumber()).append(pgnBoard.isWhiteToMove() ? ". " : "... ");
+                }
+                token.append(San.format(pgnBoard, moves[i]));
+                pgnBoard.makeMove(moves[i]);
+                if (text.length() - lineStart + token.length() >= PGN_LINE_LENGTH) {
+                    text.append('\n');
+                    lineStart = text.length();
+                } else if (text.length() > lineStart) {
+                    text.append(' ');
+                }
+                text.append(token);
+            }
+            text.append(text.length() > lineStart ? " " : "").append(game.getResult().getNotation()).append("\n\n");
+            synchronized (pgn) {
+                pgn.write(text.toString());
+            }
+        }
+
+        /**
+         * Shuts down the engines.
+         */
+        void close() {
+            whiteA.close();
+            blackA.close();
+            whiteB.close();
+            blackB.close();
+        }
+    }
+
+    /**
+     * Gets the win/draw/loss record of engine A so far, with the number of
+     * games that ended without a result if there are any.
+     * 
+     * @return the record as text
+     */
+    private String record() {
+        String record = String.format("+%d =%d -%d", winsA.sum(), draws.sum(), lossesA.sum());
+        long count = unfinished.sum();
+        return count > 0 ? record + " (" + count + " unfinished)" : record;
+    }
+
+    /**
+     * Plays all games on a pool of worker threads and prints the results.
+     * 
+     * @param concurrency the number of games played at once
+     * @return the number of games that failed with an error
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public int run(int concurrency) throws InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "tournament-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> {
+                workers.get().play(index);
+                return null;
+            }));
+        }
+        int failures = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failures++ == 0) {
+                    System.err.println("Game failed: " + e.getCause());
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        for (Worker worker : allWorkers) {
+            worker.close();
+        }
+        
+        printSummary(elapsed, concurrency);
+        return failures;
+    }
+
+    /**
+     * Prints the results, throughput and per-worker CPU use.
+     * 
+     * @param elapsedNanos the time the whole tournament took
+     * @param concurrency the number of worker threads
+     */
+    private void printSummary(long elapsedNanos, int concurrency) {
+        long scored = winsA.sum() + draws.sum() + lossesA.sum();
+        long played = scored + unfinished.sum();
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        System.out.printf("Engine A (depth %d) vs engine B (depth %d): %s in %d games%n",
+                depthA, depthB, record(), played);
+        if (scored > 0) {
+            double score = (winsA.sum() + draws.sum() / 2.0) / scored;
+            // Rounded first so that a score just under 50% shows as +0, not -0
+            String elo = score <= 0 || score >= 1 ? "n/a"
+                    : String.format("%+d", Math.round(-400 * Math.log10(1 / score - 1)));
+            System.out.printf("Score: %.1f%%, Elo difference: %s%n", 100 * score, elo);
+        }
+        StringBuilder endings = new StringBuilder("Endings:");
+        for (Termination termination : Termination.values()) {
+            long count = terminations[termination.ordinal()].sum();
+            if (count > 0) {
+                endings.append(' ').append(termination).append(' ').append(count).append(',');
+            }
+        }
+        System.out.println(endings.substring(0, endings.length() - (played > 0 ? 1 : 0)));
+        System.out.printf("Time: %.2f s, %.2f games/sec, %.0f moves/sec, %.1f moves per game%n",
+                seconds, played / seconds, plies.sum() / seconds, played > 0 ? (double) plies.sum() / played : 0.0);
+        
+        long totalCpu = 0;
+        for (Worker worker : allWorkers) {
+            System.out.printf("  %-22s %5d games, CPU %8.2f s, busy %8.2f s, utilisation %5.1f%%%n",
+                    worker.name, worker.games, worker.cpuNanos / 1e9, worker.busyNanos / 1e9,
+                    100.0 * worker.cpuNanos / Math.max(elapsedNanos, 1));
+            totalCpu += worker.cpuNanos;
+        }
+        System.out.printf("CPU utilisation: %.1f%% of %d workers, %d processors available%n",
+                100.0 * totalCpu / Math.max(elapsedNanos, 1) / concurrency, concurrency,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads an opening book with one FEN or EPD position per line. Blank
+     * lines and lines starting with '#' are skipped.
+     * 
+     * @param path the book file
+     * @return the positions in FEN
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a position is invalid
+     */
+    static List<String> readBook(Path path) throws IOException {
+        List<String> openings = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                // Normalise the position, and reject it here rather than in a worker
+                openings.add(Board.fromFen(BatchAnalysis.toFen(line)).toFen());
+            }
+        }
+        return openings;
+    }
+
+    /**
+     * Parses a clock setting of the form "BASE+INCREMENT" in seconds, such
+     * as "10+0.1".
+     * 
+     * @param text the clock setting
+     * @return the base and increment in milliseconds
+     * @throws IllegalArgumentException if the setting is malformed
+     */
+    private static long[] parseTimeControl(String text) {
+        int plus = text.indexOf('+');
+        String base = plus < 0 ? text : text.substring(0, plus);
+        String increment = plus < 0 ? "0" : text.substring(plus + 1);
+        long[] millis = {Math.round(Double.parseDouble(base) * 1000), Math.round(Double.parseDouble(increment) * 1000)};
+        if (millis[0] <= 0 || millis[1] < 0) {
+            throw new IllegalArgumentException("Invalid time control: " + text);
+        }
+        return millis;
+    }
+
+    /**
+     * Main method to run a tournament from the command line.
+     * 
+     * @param args the command line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        int games = DEFAULT_GAMES;
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        int depthA = -1;
+        int depthB = -1;
+        long moveTime = 0;
+        long[] timeControl = {0, 0};
+        int hashMegabytes = DEFAULT_HASH_MEGABYTES;
+        int maxMoves = DEFAULT_MAX_MOVES;
+        int randomPlies = DEFAULT_RANDOM_PLIES;
+        long seed = 1;
+        Path book = null;
+        Path pgnPath = null;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--concurrency":
+                        concurrency = Integer.parseInt(args[++i]);
+                        break;
+                    case "--depth":
+                        depthA = Integer.parseInt(args[++i]);
+                        break;
+                    case "--depth-b":
+                        depthB = Integer.parseInt(args[++i]);
+                        break;
+                    case "--movetime":
+                        moveTime = Long.parseLong(args[++i]);
+                        break;
+                    case "--tc":
+                        timeControl = parseTimeControl(args[++i]);
+                        break;
+                    case "--hash":
+                        hashMegabytes = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-moves":
+                        maxMoves = Integer.parseInt(args[++i]);
+                        break;
+                    case "--book":
+                        book = Paths.get(args[++i]);
+                        break;
+                    case "--random-plies":
+                        randomPlies = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--pgn":
+                        pgnPath = Paths.get(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            // Without a time limit the depth is what ends each search
+            boolean timed = moveTime > 0 || timeControl[0] > 0;
+            if (depthA < 0) {
+                depthA = timed ? Search.MAX_PLY : DEFAULT_DEPTH;
+            }
+            if (depthB < 0) {
+                depthB = depthA;
+            }
+            if (games < 1 || concurrency < 1 || depthA < 1 || depthB < 1 || depthA > Search.MAX_PLY
+                    || depthB > Search.MAX_PLY || moveTime < 0 || maxMoves < 0 || randomPlies < 0) {
+                throw new IllegalArgumentException("Invalid arguments");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: java tools.Tournament [--games N] [--concurrency N] [--depth D] [--depth-b D]");
+            System.err.println("           [--movetime MS | --tc SECONDS+INCREMENT] [--hash MB] [--max-moves N]");
+            System.err.println("           [--book FILE | --random-plies N] [--seed S] [--pgn FILE]");
+            System.exit(2);
+        }
+        
+        try {
+            List<String> openings;
+            if (book != null) {
+                openings = readBook(book);
+                if (openings.isEmpty()) {
+                    throw new IllegalArgumentException("No positions in " + book);
+                }
+            } else {
+                Random random = new Random(seed);
+                openings = new ArrayList<>();
+                for (int i = 0; i < (games + 1) / 2; i++) {
+                    openings.add(SelfPlay.randomOpening(random, randomPlies));
+                }
+            }
+            
+            BufferedWriter pgn = pgnPath != null ? Files.newBufferedWriter(pgnPath, StandardCharsets.UTF_8) : null;
+            int failures;
+            try {
+                Tournament tournament = new Tournament(openings, games, depthA, depthB, moveTime,
+                        timeControl[0], timeControl[1], hashMegabytes, maxMoves, pgn);
+                failures = tournament.run(concurrency);
+            } finally {
+                if (pgn != null) {
+                    pgn.close();
+                }
+            }
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Tournament failed: " + e.getMessage());
+            System.exit(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package uci;
+
+import board.Bitboard;
+import board.Board;
+import engine.ParallelSearch;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import game.EnginePlayer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import pieces.Move;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * Front end for the Universal Chess Interface protocol, so the engine can
+ * be driven by chess GUIs, tournament managers and test harnesses instead
+ * of the console prompts of {@link game.Game}.
+ * 
+ * <p>Commands are read one line at a time and split by a
+ * {@link UciTokenizer}. The supported commands are {@code uci},
+ * {@code isready}, {@code setoption} (Hash and Threads),
+ * {@code ucinewgame}, {@code position [startpos | fen ...] [moves ...]},
+ * {@code go} (depth, movetime, wtime/btime/winc/binc/movestogo, infinite),
+ * {@code stop} and {@code quit}; anything else is ignored, as the protocol
+ * asks.
+ * 
+ * <p>{@code go} runs the search on a background thread, so the input loop
+ * keeps reading and a {@code stop} only has to set the search's stop flag,
+ * which it checks at every node. The search thread prints the final
+ * {@code info} line and {@code bestmove}.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+public class UciEngine {
+    private static final String NAME = "ChessGame";
+    private static final String AUTHOR = "Chess Game";
+    private static final int MAX_THREADS = 256;
+    private static final int MAX_HASH_MEGABYTES = 16384;
+    private static final long STOP_POLL_MILLIS = 10;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final Board board;
+    private final MoveList legalMoves;
+    private final ExecutorService searchThread;
+    private final Object stopLock;
+    private int hashMegabytes;
+    private int threads;
+    private ParallelSearch search;
+    private Future<?> running;
+    private boolean stopRequested;
+
+    /**
+     * Constructor for UciEngine class.
+     * 
+     * @param in the source of GUI commands
+     * @param out the destination of engine replies
+     */
+    public UciEngine(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+        this.board = new Board();
+        this.legalMoves = new MoveList();
+        this.searchThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "uci-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.stopLock = new Object();
+        this.hashMegabytes = EnginePlayer.DEFAULT_HASH_MEGABYTES;
+        this.threads = 1;
+        this.search = new ParallelSearch(new TranspositionTable(hashMegabytes), threads);
+    }
+
+    /**
+     * Reads and answers commands until {@code quit} or the end of the input.
+     * 
+     * @throws IOException if the input cannot be read
+     */
+    public void run() throws IOException {
+        try {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (!handle(line)) {
+                    break;
+                }
+            }
+        } finally {
+            stopSearch();
+            searchThread.shutdownNow();
+            search.close();
+        }
+    }
+
+    /**
+     * Handles one command line.
+     * 
+     * @param line the command line
+     * @return false if the command was {@code quit}, true otherwise
+     */
+    boolean handle(String line) {
+        UciTokenizer tokens = new UciTokenizer(line);
+        String command = tokens.next();
+        if (command == null) {
+            return true;
+        }
+        try {
+            switch (command) {
+                case "uci":
+                    out.println("id name " + NAME);
+                    out.println("id author " + AUTHOR);
+                    out.println("option name Hash type spin default " + EnginePlayer.DEFAULT_HASH_MEGABYTES
+                            + " min 1 max " + MAX_HASH_MEGABYTES);
+                    out.println("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                    out.println("uciok");
+                    break;
+                case "isready":
+                    out.println("readyok");
+                    break;
+                case "setoption":
+                    stopSearch();
+                    setOption(tokens);
+                    break;
+                case "ucinewgame":
+                    stopSearch();
+                    search.getTable().clear();
+                    search.clearHistory();
+                    break;
+                case "position":
+                    stopSearch();
+                    setPosition(tokens);
+                    break;
+                case "go":
+                    stopSearch();
+                    go(tokens);
+                    break;
+                case "stop":
+                    stopSearch();
+                    break;
+                case "quit":
+                    return false;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            out.println("info string " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Handles {@code setoption name <id> value <x>}.
+     * 
+     * @param tokens the rest of the command
+     */
+    private void setOption(UciTokenizer tokens) {
+        if (!"name".equals(tokens.next())) {
+            throw new IllegalArgumentException("Expected setoption name <id> value <x>");
+        }
+        String name = tokens.nextUntil("value");
+        String value = tokens.nextUntil("");
+        if (name.equalsIgnoreCase("Hash")) {
+            int megabytes = parseRange(value, 1, MAX_HASH_MEGABYTES, name);
+            if (megabytes != hashMegabytes) {
+                hashMegabytes = megabytes;
+                search.close();
+                search = new ParallelSearch(new TranspositionTable(hashMegabytes), threads);
+            }
+        } else if (name.equalsIgnoreCase("Threads")) {
+            int count = parseRange(value, 1, MAX_THREADS, name);
+            if (count != threads) {
+                threads = count;
+                search.close();
+                search = new ParallelSearch(search.getTable(), threads);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    /**
+     * Parses an option value that must lie in a range.
+     * 
+     * @param value the value text
+     * @param min the smallest allowed value
+     * @param max the largest allowed value
+     * @param name the option name, for the error message
+     * @return the value
+     * @throws IllegalArgumentException if the value is not a number in range
+     */
+    private static int parseRange(String value, int min, int max, String name) {
+        int number = Integer.parseInt(value);
+        if (number < min || number > max) {
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+        }
+        return number;
+    }
+
+    /**
+     * Handles {@code position [startpos | fen <fen>] [moves <move>...]}.
+     * If the position or a move is invalid, the board is left at the start
+     * position or after the last valid move.
+     * 
+     * @param tokens the rest of the command
+     */
+    private void setPosition(UciTokenizer tokens) {
+        String kind = tokens.next();
+        if ("startpos".equals(kind)) {
+            board.loadFen(Board.START_FEN);
+            if (tokens.hasNext() && !"moves".equals(tokens.next())) {
+                throw new IllegalArgumentException("Expected moves after startpos");
+            }
+        } else if ("fen".equals(kind)) {
+            try {
+                board.loadFen(tokens.nextUntil("moves"));
+            } catch (IllegalArgumentException e) {
+                board.loadFen(Board.START_FEN);
+                throw e;
+            }
+        } else {
+            throw new IllegalArgumentException("Expected startpos or fen");
+        }
+        
+        for (String text = tokens.next(); text != null; text = tokens.next()) {
+            int move = parseMove(text);
+            if (move == Move.NONE) {
+                throw new IllegalArgumentException("Illegal move: " + text);
+            }
+            board.makeMove(move);
+        }
+    }
+
+    /**
+     * Finds the legal move given in long algebraic notation, such as
+     * "e2e4" or "e7e8q".
+     * 
+     * @param text the move text
+     * @return the packed move, or {@link Move#NONE} if no legal move matches
+     */
+    private int parseMove(String text) {
+        if (text.length() < 4 || text.length() > 5) {
+            return Move.NONE;
+        }
+        int from = parseSquare(text.charAt(0), text.charAt(1));
+        int to = parseSquare(text.charAt(2), text.charAt(3));
+        int promotion = text.length() == 5 ? "nbrq".indexOf(text.charAt(4)) : -1;
+        if (from < 0 || to < 0 || (text.length() == 5 && promotion < 0)) {
+            return Move.NONE;
+        }
+        
+        legalMoves.clear();
+        board.generateLegalMoves(board.isWhiteToMove(), legalMoves);
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (Move.from(move) == from && Move.to(move) == to) {
+                boolean isPromotion = Move.isPromotion(move);
+                if (!isPromotion && promotion < 0
+                        || isPromotion && Move.promotionType(move) == Piece.KNIGHT + promotion) {
+                    return move;
+                }
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Converts a file letter and rank digit to a square index.
+     * 
+     * @param file the file ('a' to 'h')
+     * @param rank the rank ('1' to '8')
+     * @return the square index, or -1 if off the board
+     */
+    private static int parseSquare(char file, char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            return -1;
+        }
+        return Bitboard.square('8' - rank, file - 'a');
+    }
+
+    /**
+     * Writes a move in long algebraic notation.
+     * 
+     * @param move the packed move
+     * @return the move text, or "0000" for no move
+     */
+    static String formatMove(int move) {
+        if (move == Move.NONE) {
+            return "0000";
+        }
+        StringBuilder text = new StringBuilder(5);
+        for (int square : new int[] {Move.from(move), Move.to(move)}) {
+            text.append((char) ('a' + Bitboard.column(square)));
+            text.append((char) ('8' - Bitboard.row(square)));
+        }
+        if (Move.isPromotion(move)) {
+            text.append("nbrq".charAt(Move.promotionType(move) - Piece.KNIGHT));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Handles {@code go} and starts the search on the search thread.
+     * 
+     * @param tokens the rest of the command
+     */
+    private void go(UciTokenizer tokens) {
+        int depth = Search.MAX_PLY;
+        long moveTime = 0;
+        long whiteTime = -1;
+        long blackTime = -1;
+        long whiteIncrement = 0;
+        long blackIncrement = 0;
+        long movesToGo = EnginePlayer.DEFAULT_MOVES_TO_GO;
+        boolean infinite = false;
+        
+        for (String option = tokens.next(); option != null; option = tokens.next()) {
+            switch (option) {
+                case "depth":
+                    depth = (int) Math.max(1, Math.min(tokens.nextLong(), Search.MAX_PLY));
+                    break;
+                case "movetime":
+                    moveTime = Math.max(1, tokens.nextLong());
+                    break;
+                case "wtime":
+                    whiteTime = tokens.nextLong();
+                    break;
+                case "btime":
+                    blackTime = tokens.nextLong();
+                    break;
+                case "winc":
+                    whiteIncrement = tokens.nextLong();
+                    break;
+                case "binc":
+                    blackIncrement = tokens.nextLong();
+                    break;
+                case "movestogo":
+                    movesToGo = Math.max(1, tokens.nextLong());
+                    break;
+                case "infinite":
+                    infinite = true;
+                    break;
+                default:
+                    break; // nodes, mate, ponder and searchmoves are not supported
+            }
+        }
+        
+        long remaining = board.isWhiteToMove() ? whiteTime : blackTime;
+        if (moveTime == 0 && remaining >= 0 && !infinite) {
+            long increment = board.isWhiteToMove() ? whiteIncrement : blackIncrement;
+            moveTime = EnginePlayer.budgetMoveTime(remaining, increment, movesToGo);
+        }
+        
+        int maxDepth = depth;
+        long timeLimit = infinite ? 0 : moveTime;
+        boolean waitForStop = infinite;
+        synchronized (stopLock) {
+            stopRequested = false;
+        }
+        running = searchThread.submit(() -> runSearch(maxDepth, timeLimit, waitForStop));
+    }
+
+    /**
+     * Runs one search and reports its result. Called on the search thread.
+     * 
+     * @param maxDepth the deepest iteration to run
+     * @param timeLimitMillis the time budget in milliseconds, or 0 for no limit
+     * @param waitForStop true to hold back the best move until {@code stop},
+     *                    as {@code go infinite} requires
+     */
+    private void runSearch(int maxDepth, long timeLimitMillis, boolean waitForStop) {
+        SearchResult result = search.search(board, maxDepth, timeLimitMillis);
+        if (waitForStop) {
+            synchronized (stopLock) {
+                while (!stopRequested) {
+                    try {
+                        stopLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        
+        int bestMove = result.getBestMove();
+        long millis = result.getElapsedNanos() / 1000000;
+        out.println("info depth " + result.getDepth() + " score " + formatScore(result.getScore())
+                + " nodes " + result.getNodes() + " nps " + result.getNodesPerSecond() + " time " + millis
+                + " hashfull " + Math.round(search.getTable().getOccupancy() * 1000)
+                + (bestMove != Move.NONE && result.getDepth() > 0 ? " pv " + formatMove(bestMove) : ""));
+        out.println("bestmove " + formatMove(bestMove));
+    }
+
+    /**
+     * Writes a score as UCI centipawns or moves to mate.
+     * 
+     * @param score the search score from the side to move's point of view
+     * @return "cp N" or "mate N"
+     */
+    static String formatScore(int score) {
+        if (Math.abs(score) >= Search.MATE_SCORE - Search.MAX_PLY) {
+            int plies = Search.MATE_SCORE - Math.abs(score);
+            int moves = (plies + 1) / 2;
+            return "mate " + (score > 0 ? moves : -moves);
+        }
+        return "cp " + score;
+    }
+
+    /**
+     * Stops the running search, if any, and waits until it has printed its
+     * best move. The stop is repeated until the search thread finishes, so a
+     * stop that arrives before the search has started is not lost.
+     */
+    private void stopSearch() {
+        Future<?> current = running;
+        if (current == null) {
+            return;
+        }
+        synchronized (stopLock) {
+            stopRequested = true;
+            stopLock.notifyAll();
+        }
+        while (!current.isDone()) {
+            search.stop();
+            try {
+                current.get(STOP_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Not finished yet: stop again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                out.println("info string search failed: " + e.getCause());
+                out.println("bestmove 0000");
+            }
+        }
+        running = null;
+    }
+
+    /**
+     * Runs the UCI loop on standard input and output.
+     * 
+     * @param args the command line arguments (not used)
+     */
+    public static void main(String[] args) {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        try {
+            new UciEngine(in, System.out).run();
+        } catch (IOException e) {
+            System.err.println("Cannot read input: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package uci;
+
+/**
+ * Splits one line of UCI input into tokens separated by spaces or tabs.
+ * Tokens are read one at a time by scanning the line, so parsing a
+ * command needs no regular expressions or intermediate arrays.
+ * 
+ * @author Chess Game
+ * @version 1.0
+ */
+class UciTokenizer {
+    private final String line;
+    private int position;
+
+    /**
+     * Constructor for UciTokenizer class.
+     * 
+     * @param line the input line
+     */
+    UciTokenizer(String line) {
+        this.line = line;
+        this.position = 0;
+    }
+
+    /**
+     * Checks if a space or tab separates tokens at an index.
+     * 
+     * @param index the index in the line
+     * @return true if the character is whitespace
+     */
+    private boolean isSeparator(int index) {
+        char c = line.charAt(index);
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    /**
+     * Checks if another token follows.
+     * 
+     * @return true if there is at least one more token
+     */
+    boolean hasNext() {
+        while (position < line.length() && isSeparator(position)) {
+            position++;
+        }
+        return position < line.length();
+    }
+
+    /**
+     * Reads the next token.
+     * 
+     * @return the token, or null at the end of the line
+     */
+    String next() {
+        if (!hasNext()) {
+            return null;
+        }
+        int start = position;
+        while (position < line.length() && !isSeparator(position)) {
+            position++;
+        }
+        return line.substring(start, position);
+    }
+
+    /**
+     * Reads the next token as a number.
+     * 
+     * @return the number
+     * @throws IllegalArgumentException if the token is missing or not a number
+     */
+    long nextLong() {
+        String token = next();
+        if (token == null) {
+            throw new IllegalArgumentException("Missing number");
+        }
+        return Long.parseLong(token);
+    }
+
+    /**
+     * Reads every token up to a given keyword, joined with single spaces.
+     * The keyword itself is consumed but not included.
+     * 
+     * @param keyword the token that ends the text
+     * @return the text, empty if the keyword or the end comes first
+     */
+    String nextUntil(String keyword) {
+        StringBuilder text = new StringBuilder();
+        for (String token = next(); token != null && !token.equals(keyword); token = next()) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(token);
+        }
+        return text.toString();
+    }
+}
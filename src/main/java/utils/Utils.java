@@ -112,8 +112,8 @@ public class Utils {
         }
         
         try {
-            Position from = new Position(parts[0]);
-            Position to = new Position(parts[1]);
+            Position from = Position.of(parts[0]);
+            Position to = Position.of(parts[1]);
             return new Position[]{from, to};
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid position in move: " + e.getMessage());